@@ -4,76 +4,121 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
+import ru.practicum.shareit.booking.dto.BookingExportScope;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.item.ItemClient;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    private final GatewayResponseCache cache;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         RestTemplateBuilder builder,
+                         @Value("${shareit-server.reactive.enabled:false}") boolean reactive,
+                         WebClient.Builder webClientBuilder,
+                         GatewayResponseCache cache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .build(),
+                reactive ? webClientBuilder.baseUrl(serverUrl + API_PREFIX)
+                                           .build() : null
         );
+        this.cache = cache;
     }
 
-    public ResponseEntity<Object> create(Long bookerId, BookingRequestDto bookingRequestDto) {
-        return post("/", bookerId, bookingRequestDto);
+    public Mono<ResponseEntity<Object>> create(Long bookerId, BookingRequestDto bookingRequestDto) {
+        return post("/", bookerId, bookingRequestDto)
+                .doOnNext(response -> cache.invalidate(ItemClient.itemCacheKey(bookingRequestDto.getItemId())));
     }
 
-    public ResponseEntity<Object> approve(
+    public Mono<ResponseEntity<Object>> approve(
             Long ownerId,
             Long bookingId,
             boolean approved
     ) {
         Map<String, Object> parameters = Map.of("approved", approved);
 
-        return patch("/" + bookingId + "?approved={approved}", ownerId, parameters, null);
+        return patch("/" + bookingId + "?approved={approved}", ownerId, parameters, null)
+                .doOnNext(response -> cache.invalidate(ItemClient.regionCacheKey()));
     }
 
-    public ResponseEntity<Object> getById(Long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getById(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getByBookerId(
+    public Mono<ResponseEntity<Object>> getByBookerId(
             Long bookerId,
             BookingState enumState,
             Integer from,
-            Integer size
+            Integer size,
+            String after
     ) {
+        Map<String, Object> parameters = getListParameters(enumState, from, size, after);
 
-        Map<String, Object> parameters = Map.of(
-                "state", enumState.name(),
-                "from", from,
-                "size", size
-        );
-
-        return get("?state={state}&from={from}&size={size}", bookerId, parameters);
+        return get("?" + getListQuery(after), bookerId, parameters);
     }
 
-    public ResponseEntity<Object> getByOwnerId(
+    public Mono<ResponseEntity<Object>> getByOwnerId(
             Long ownerId,
             BookingState enumState,
             Integer from,
-            Integer size
+            Integer size,
+            String after
     ) {
+        Map<String, Object> parameters = getListParameters(enumState, from, size, after);
+
+        return get("/owner?" + getListQuery(after), ownerId, parameters);
+    }
+
+    public void export(Long userId,
+                       BookingExportScope scope,
+                       BookingExportFormat format,
+                       HttpServletResponse response) throws IOException {
         Map<String, Object> parameters = Map.of(
+                "scope", scope.name(),
+                "format", format.name()
+        );
+
+        stream("/export?scope={scope}&format={format}", userId, parameters, response);
+    }
+
+    private Map<String, Object> getListParameters(BookingState enumState,
+                                                  Integer from,
+                                                  Integer size,
+                                                  String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", enumState.name(),
                 "from", from,
                 "size", size
-        );
+        ));
+        if (after != null) {
+            parameters.put("after", after);
+        }
+
+        return parameters;
+    }
+
+    private String getListQuery(String after) {
+        String query = "state={state}&from={from}&size={size}";
 
-        return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
+        return after == null ? query : query + "&after={after}";
     }
 
 }
@@ -5,13 +5,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
+import ru.practicum.shareit.booking.dto.BookingExportScope;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exeption.BadRequestException;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -23,7 +28,7 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(
+    public Mono<ResponseEntity<Object>> create(
             @RequestHeader("X-Sharer-User-Id") Long bookerId,
             @Valid @RequestBody BookingRequestDto bookingRequestDto
     ) {
@@ -31,7 +36,7 @@ public class BookingController {
     }
 
     @PatchMapping("{bookingId}")
-    public ResponseEntity<Object> approve(
+    public Mono<ResponseEntity<Object>> approve(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long bookingId,
             @RequestParam boolean approved
@@ -40,7 +45,7 @@ public class BookingController {
     }
 
     @GetMapping("{bookingId}")
-    public ResponseEntity<Object> getBooking(
+    public Mono<ResponseEntity<Object>> getBooking(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long bookingId
     ) {
@@ -48,37 +53,54 @@ public class BookingController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getByBookerId(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+    public Mono<ResponseEntity<Object>> getByBookerId(@RequestHeader("X-Sharer-User-Id") Long bookerId,
                                                 @RequestParam(required = false,
                                                         defaultValue = "ALL") String state,
                                                 @RequestParam(required = false, defaultValue = "0")
                                                 @PositiveOrZero Integer from,
                                                 @RequestParam(required = false, defaultValue = "20")
-                                                @Positive Integer size) {
-        return bookingClient.getByBookerId(bookerId, getEnumState(state), from, size);
+                                                @Positive Integer size,
+                                                @RequestParam(required = false) String after) {
+        return bookingClient.getByBookerId(bookerId, getEnumState(state), from, size, after);
     }
 
     @GetMapping("owner")
-    public ResponseEntity<Object> getByOwnerId(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+    public Mono<ResponseEntity<Object>> getByOwnerId(@RequestHeader("X-Sharer-User-Id") Long ownerId,
                                                @RequestParam(required = false,
                                                        defaultValue = "ALL") String state,
                                                @RequestParam(required = false, defaultValue = "0")
                                                @PositiveOrZero Integer from,
                                                @RequestParam(required = false, defaultValue = "20")
-                                               @Positive Integer size) {
-        return bookingClient.getByOwnerId(ownerId, getEnumState(state), from, size);
+                                               @Positive Integer size,
+                                               @RequestParam(required = false) String after) {
+        return bookingClient.getByOwnerId(ownerId, getEnumState(state), from, size, after);
+    }
+
+    @GetMapping("export")
+    public void export(@RequestHeader("X-Sharer-User-Id") Long userId,
+                       @RequestParam(required = false, defaultValue = "BOOKER") String scope,
+                       @RequestParam(required = false, defaultValue = "NDJSON") String format,
+                       HttpServletResponse response) throws IOException {
+        bookingClient.export(userId,
+                getEnum(BookingExportScope.class, "scope", scope),
+                getEnum(BookingExportFormat.class, "format", format),
+                response);
     }
 
     private BookingState getEnumState(String state) {
-        BookingState bookingStateEnum;
+        return getEnum(BookingState.class, "state", state);
+    }
+
+    private <E extends Enum<E>> E getEnum(Class<E> type, String name, String value) {
+        E enumValue;
         try {
-            bookingStateEnum = BookingState.valueOf(state.toUpperCase());
+            enumValue = Enum.valueOf(type, value.toUpperCase());
         } catch (IllegalArgumentException e) {
-            log.error(state);
-            throw new BadRequestException("Unknown state: " + state);
+            log.error(value);
+            throw new BadRequestException("Unknown " + name + ": " + value);
         }
 
-        return bookingStateEnum;
+        return enumValue;
     }
 
 }
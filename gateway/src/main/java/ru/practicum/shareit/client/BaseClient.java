@@ -1,98 +1,154 @@
 package ru.practicum.shareit.client;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import javax.servlet.http.HttpServletResponse;
 
 public class BaseClient {
     protected final RestTemplate rest;
+    @Nullable
+    protected final WebClient web;
+    private final RequestCoalescer coalescer = new RequestCoalescer();
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable WebClient web) {
         this.rest = rest;
+        this.web = web;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        String key = rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of()) + "|" + userId;
+
+        return coalescer.execute(key, () -> makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null));
+    }
+
+    protected void stream(String path,
+                          Long userId,
+                          @Nullable Map<String, Object> parameters,
+                          HttpServletResponse response) throws IOException {
+        try {
+            rest.execute(path, HttpMethod.GET,
+                    request -> {
+                        request.getHeaders().addAll(defaultHeaders(userId));
+                        request.getHeaders().setAccept(List.of(MediaType.ALL));
+                    },
+                    shareitServerResponse -> relay(shareitServerResponse.getStatusCode(),
+                            shareitServerResponse.getHeaders(), shareitServerResponse.getBody(), response),
+                    parameters != null ? parameters : Map.of());
+        } catch (HttpStatusCodeException e) {
+            relay(e.getStatusCode(), e.getResponseHeaders(), new ByteArrayInputStream(e.getResponseBodyAsByteArray()),
+                    response);
+        }
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (web != null) {
+            return exchange(method, path, userId, parameters, body);
+        }
+        return Mono.fromCallable(() -> makeAndSendBlockingRequest(method, path, userId, parameters, body));
+    }
+
+    private <T> Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = web.method(method)
+                                               .uri(path, parameters != null ? parameters : Map.of())
+                                               .headers(headers -> headers.addAll(defaultHeaders(userId)));
+
+        return (body != null ? request.bodyValue(body) : request)
+                .exchangeToMono(BaseClient::prepareGatewayResponse);
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendBlockingRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(),
+                shareitServerResponse.getHeaders(), shareitServerResponse.getBody());
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -105,17 +161,39 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    private static Object relay(HttpStatus status,
+                                @Nullable HttpHeaders headers,
+                                InputStream body,
+                                HttpServletResponse response) throws IOException {
+        response.setStatus(status.value());
+        if (headers != null && headers.getContentType() != null) {
+            response.setContentType(headers.getContentType().toString());
         }
+        StreamUtils.copy(body, response.getOutputStream());
+        response.flushBuffer();
+        return null;
+    }
+
+    private static Mono<ResponseEntity<Object>> prepareGatewayResponse(ClientResponse response) {
+        HttpHeaders headers = response.headers().asHttpHeaders();
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        return response.bodyToMono(byte[].class)
+                       .map(body -> prepareGatewayResponse(response.statusCode(), headers, body))
+                       .defaultIfEmpty(prepareGatewayResponse(response.statusCode(), headers, null));
+    }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatus status,
+                                                                 @Nullable HttpHeaders headers,
+                                                                 @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+
+        if (body == null || body.length == 0) {
+            return responseBuilder.build();
+        }
+        if (headers != null && headers.getContentType() != null) {
+            responseBuilder.contentType(headers.getContentType());
         }
 
-        return responseBuilder.build();
+        return responseBuilder.body(body);
     }
 }
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+public class GatewayResponseCache implements MeterBinder {
+    private static final String CACHE_NAME = "gateway.responses";
+    private static final int PATH_STRIPES = 4096;
+
+    private final boolean enabled;
+    private final Cache<String, ResponseEntity<Object>> cache;
+    private final Map<String, AtomicLong> regionGenerations = new ConcurrentHashMap<>();
+    private final AtomicLongArray pathGenerations = new AtomicLongArray(PATH_STRIPES);
+
+    public GatewayResponseCache(@Value("${shareit-server.cache.enabled:true}") boolean enabled,
+                                @Value("${shareit-server.cache.max-size:10000}") long maxSize,
+                                @Value("${shareit-server.cache.ttl:30s}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(maxSize)
+                             .expireAfterWrite(ttl)
+                             .recordStats()
+                             .build();
+    }
+
+    public static String key(String resource, String path, @Nullable Long userId,
+                             @Nullable Map<String, Object> parameters) {
+        String query = parameters == null ? "" : new TreeMap<>(parameters).entrySet()
+                                                                           .stream()
+                                                                           .map(e -> e.getKey() + "=" + e.getValue())
+                                                                           .collect(Collectors.joining("&"));
+        return resource + path + "|" + userId + "|" + query;
+    }
+
+    public Mono<ResponseEntity<Object>> get(String key, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        String versionedKey = versioned(key);
+        ResponseEntity<Object> cached = cache.getIfPresent(versionedKey);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        return loader.get()
+                     .doOnNext(response -> {
+                         if (response.getStatusCode().is2xxSuccessful() && versionedKey.equals(versioned(key))) {
+                             cache.put(versionedKey, response);
+                         }
+                     });
+    }
+
+    public void invalidate(String... keyPrefixes) {
+        for (String prefix : keyPrefixes) {
+            int pathEnd = prefix.indexOf('|');
+            if (pathEnd < 0) {
+                regionGeneration(prefix).incrementAndGet();
+            } else {
+                pathGenerations.incrementAndGet(pathStripe(prefix.substring(0, pathEnd + 1)));
+            }
+        }
+    }
+
+    private String versioned(String key) {
+        String region = key.substring(0, key.indexOf(':') + 1);
+        String path = key.substring(0, key.indexOf('|') + 1);
+        return key + "#" + regionGeneration(region).get() + "." + pathGenerations.get(pathStripe(path));
+    }
+
+    private AtomicLong regionGeneration(String region) {
+        return regionGenerations.computeIfAbsent(region, r -> new AtomicLong());
+    }
+
+    private static int pathStripe(String path) {
+        return Math.floorMod(path.hashCode(), PATH_STRIPES);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateBuilderConfigurer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    public PoolingHttpClientConnectionManager shareItServerConnectionManager(
+            @Value("${shareit-server.http.max-total}") int maxTotal,
+            @Value("${shareit-server.http.max-per-route}") int maxPerRoute,
+            @Value("${shareit-server.http.validate-after-inactivity}") Duration validateAfterInactivity
+    ) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+        return connectionManager;
+    }
+
+    @Bean
+    public HttpClient shareItServerHttpClient(
+            PoolingHttpClientConnectionManager shareItServerConnectionManager,
+            @Value("${shareit-server.http.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-server.http.read-timeout}") Duration readTimeout,
+            @Value("${shareit-server.http.connection-request-timeout}") Duration connectionRequestTimeout,
+            @Value("${shareit-server.http.keep-alive}") Duration keepAlive,
+            @Value("${shareit-server.http.idle-timeout}") Duration idleTimeout
+    ) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                                                   .setConnectTimeout((int) connectTimeout.toMillis())
+                                                   .setSocketTimeout((int) readTimeout.toMillis())
+                                                   .setConnectionRequestTimeout((int) connectionRequestTimeout.toMillis())
+                                                   .build();
+
+        return HttpClients.custom()
+                          .setConnectionManager(shareItServerConnectionManager)
+                          .setDefaultRequestConfig(requestConfig)
+                          .setKeepAliveStrategy(keepAliveStrategy(keepAlive.toMillis()))
+                          .evictExpiredConnections()
+                          .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                          .build();
+    }
+
+    @Bean
+    public RestTemplateBuilder restTemplateBuilder(RestTemplateBuilderConfigurer configurer,
+                                                   HttpClient shareItServerHttpClient) {
+        return configurer.configure(new RestTemplateBuilder())
+                         .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(shareItServerHttpClient));
+    }
+
+    @Bean
+    public MeterBinder shareItServerConnectionPoolMetrics(
+            PoolingHttpClientConnectionManager shareItServerConnectionManager
+    ) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(shareItServerConnectionManager, "shareit-server");
+    }
+
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long maxKeepAliveMillis) {
+        return (response, context) -> {
+            long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return keepAlive > 0 ? Math.min(keepAlive, maxKeepAliveMillis) : maxKeepAliveMillis;
+        };
+    }
+
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.reactive.enabled", havingValue = "true")
+public class ReactiveClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(
+            @Value("${shareit-server.reactive.max-connections}") int maxConnections,
+            @Value("${shareit-server.reactive.pending-acquire-max-count}") int pendingAcquireMaxCount,
+            @Value("${shareit-server.reactive.pending-acquire-timeout}") Duration pendingAcquireTimeout,
+            @Value("${shareit-server.reactive.max-idle-time}") Duration maxIdleTime
+    ) {
+        return ConnectionProvider.builder("shareit-server")
+                                 .maxConnections(maxConnections)
+                                 .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                                 .pendingAcquireTimeout(pendingAcquireTimeout)
+                                 .maxIdleTime(maxIdleTime)
+                                 .metrics(true)
+                                 .build();
+    }
+
+    @Bean
+    public ClientHttpConnector shareItServerConnector(
+            ConnectionProvider shareItServerConnectionProvider,
+            @Value("${shareit-server.reactive.response-timeout}") Duration responseTimeout
+    ) {
+        return new ReactorClientHttpConnector(
+                HttpClient.create(shareItServerConnectionProvider)
+                          .responseTimeout(responseTimeout)
+                          .compress(true)
+        );
+    }
+
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+public class RequestCoalescer {
+    private final Map<String, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<ResponseEntity<Object>> execute(String key, Supplier<Mono<ResponseEntity<Object>>> call) {
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> call.get()
+                                                                     .doFinally(signal -> inFlight.remove(k))
+                                                                     .cache()));
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+}
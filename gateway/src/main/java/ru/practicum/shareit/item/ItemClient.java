@@ -3,34 +3,61 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
+    private static final String CACHE_REGION = "items:";
 
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    private final GatewayResponseCache cache;
+
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      RestTemplateBuilder builder,
+                      @Value("${shareit-server.reactive.enabled:false}") boolean reactive,
+                      WebClient.Builder webClientBuilder,
+                      GatewayResponseCache cache) {
         super(
                 builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                       .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                       .build()
+                       .build(),
+                reactive ? webClientBuilder.baseUrl(serverUrl + API_PREFIX)
+                                           .build() : null
         );
+        this.cache = cache;
+    }
+
+    public static String itemCacheKey(Long itemId) {
+        return CACHE_REGION + "/" + itemId + "|";
+    }
+
+    public static String searchCacheKey() {
+        return CACHE_REGION + "/search|";
     }
 
+    public static String regionCacheKey() {
+        return CACHE_REGION;
+    }
+
+
+    public Mono<ResponseEntity<Object>> getItem(Long itemId, Long userId) {
+        String key = GatewayResponseCache.key(CACHE_REGION, "/" + itemId, userId, null);
 
-    public ResponseEntity<Object> getItem(Long itemId, Long userId) {
-        return get("/" + itemId, userId);
+        return cache.get(key, () -> get("/" + itemId, userId));
     }
 
-    public ResponseEntity<Object> getOwnItems(Long ownerId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getOwnItems(Long ownerId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -39,15 +66,22 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> create(Long ownerId, ItemDto itemDto) {
-        return post("/", ownerId, itemDto);
+    public Mono<ResponseEntity<Object>> create(Long ownerId, ItemDto itemDto) {
+        return post("/", ownerId, itemDto)
+                .doOnNext(response -> cache.invalidate(searchCacheKey()));
+    }
+
+    public Mono<ResponseEntity<Object>> createAll(Long ownerId, List<ItemDto> itemDtos) {
+        return post("/batch", ownerId, itemDtos)
+                .doOnNext(response -> cache.invalidate(searchCacheKey()));
     }
 
-    public ResponseEntity<Object> update(Long ownerId, Long id, ItemDto itemDto) {
-        return patch("/" + id, ownerId, itemDto);
+    public Mono<ResponseEntity<Object>> update(Long ownerId, Long id, ItemDto itemDto) {
+        return patch("/" + id, ownerId, itemDto)
+                .doOnNext(response -> cache.invalidate(itemCacheKey(id), searchCacheKey()));
     }
 
-    public ResponseEntity<Object> searchItem(
+    public Mono<ResponseEntity<Object>> searchItem(
             Long userId,
             String text,
             Integer from,
@@ -59,13 +93,30 @@ public class ItemClient extends BaseClient {
                 "size", size
         );
 
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        String key = GatewayResponseCache.key(CACHE_REGION, "/search", userId, parameters);
+
+        return cache.get(key, () -> get("/search?text={text}&from={from}&size={size}", userId, parameters));
+    }
+
+    public Mono<ResponseEntity<Object>> getAvailability(
+            Long userId,
+            Long itemId,
+            LocalDateTime from,
+            LocalDateTime to
+    ) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createComment(Long bookerId, Long itemId, CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> createComment(Long bookerId, Long itemId, CommentDto commentDto) {
         String path = String.format("/%s/comment", itemId);
 
-        return post(path, bookerId, commentDto);
+        return post(path, bookerId, commentDto)
+                .doOnNext(response -> cache.invalidate(itemCacheKey(itemId)));
     }
 
 }
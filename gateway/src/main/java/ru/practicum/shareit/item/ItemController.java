@@ -1,27 +1,41 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exeption.BadRequestException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.validator.Marker.OnCreate;
 import ru.practicum.shareit.validator.Marker.OnUpdate;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("items")
 @RequiredArgsConstructor
 @Validated
 public class ItemController {
+    private static final int BATCH_MAX_SIZE = 1000;
+
     private final ItemClient itemClient;
+    private final ItemImporter itemImporter;
 
     @GetMapping("{itemId}")
-    public ResponseEntity<Object> getItem(
+    public Mono<ResponseEntity<Object>> getItem(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long itemId
     ) {
@@ -29,7 +43,7 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getOwnItems(
+    public Mono<ResponseEntity<Object>> getOwnItems(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
             @RequestParam(required = false, defaultValue = "0")
             @PositiveOrZero Integer from,
@@ -41,16 +55,39 @@ public class ItemController {
 
     @PostMapping
     @Validated(OnCreate.class)
-    public ResponseEntity<Object> create(
+    public Mono<ResponseEntity<Object>> create(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
             @Valid @RequestBody ItemDto itemDto
     ) {
         return itemClient.create(ownerId, itemDto);
     }
 
+    @PostMapping("batch")
+    @Validated(OnCreate.class)
+    public Mono<ResponseEntity<Object>> createAll(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestBody
+            @NotEmpty(groups = OnCreate.class)
+            @Size(groups = OnCreate.class, max = BATCH_MAX_SIZE) List<@Valid ItemDto> itemDtos
+    ) {
+        return itemClient.createAll(ownerId, itemDtos);
+    }
+
+    @PostMapping(path = "import",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importItems(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            InputStream body,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        itemImporter.importItems(ownerId, body, response.getOutputStream());
+    }
+
     @PatchMapping("{id}")
     @Validated(OnUpdate.class)
-    public ResponseEntity<Object> update(
+    public Mono<ResponseEntity<Object>> update(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
             @PathVariable Long id,
             @Valid @RequestBody ItemDto itemDto
@@ -59,7 +96,7 @@ public class ItemController {
     }
 
     @GetMapping("search")
-    public ResponseEntity<Object> searchItem(
+    public Mono<ResponseEntity<Object>> searchItem(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam String text,
             @RequestParam(required = false, defaultValue = "0")
@@ -70,8 +107,21 @@ public class ItemController {
         return itemClient.searchItem(userId, text, from, size);
     }
 
+    @GetMapping("{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("Availability period start must be before end");
+        }
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
+
     @PostMapping("{itemId}/comment")
-    public ResponseEntity<Object> createComment(
+    public Mono<ResponseEntity<Object>> createComment(
             @RequestHeader("X-Sharer-User-Id") Long bookerId,
             @PathVariable Long itemId,
             @Valid @RequestBody CommentDto commentDto
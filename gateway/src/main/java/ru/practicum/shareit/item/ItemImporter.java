@@ -0,0 +1,173 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto.Status;
+import ru.practicum.shareit.validator.Marker.OnCreate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class ItemImporter {
+    private final ItemClient itemClient;
+    private final Validator validator;
+    private final ObjectReader itemReader;
+    private final ObjectReader itemListReader;
+    private final ObjectWriter resultWriter;
+    private final int chunkSize;
+    private final int maxLineLength;
+
+    public ItemImporter(ItemClient itemClient,
+                        Validator validator,
+                        ObjectMapper objectMapper,
+                        @Value("${shareit-server.import.chunk-size:500}") int chunkSize,
+                        @Value("${shareit-server.import.max-line-length:1048576}") int maxLineLength) {
+        this.itemClient = itemClient;
+        this.validator = validator;
+        this.itemReader = objectMapper.readerFor(ItemDto.class);
+        this.itemListReader = objectMapper.readerForListOf(ItemDto.class);
+        this.resultWriter = objectMapper.writerFor(ItemImportResultDto.class);
+        this.chunkSize = chunkSize;
+        this.maxLineLength = maxLineLength;
+    }
+
+    public void importItems(Long ownerId, InputStream body, OutputStream report) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<ItemImportResultDto> results = new ArrayList<>();
+        List<ItemImportResultDto> pending = new ArrayList<>();
+        List<ItemDto> chunk = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+
+        long lineNumber = 0;
+        long length;
+        while ((length = readLine(reader, line)) >= 0) {
+            lineNumber++;
+            if (length <= maxLineLength && line.toString().isBlank()) {
+                continue;
+            }
+
+            ItemImportResultDto result = new ItemImportResultDto(lineNumber);
+            results.add(result);
+            if (length > maxLineLength) {
+                reject(result, Status.INVALID, List.of("Line exceeds " + maxLineLength + " characters"));
+            } else {
+                parse(line.toString(), result, chunk, pending);
+            }
+
+            if (results.size() == chunkSize) {
+                if (!chunk.isEmpty()) {
+                    createChunk(ownerId, chunk, pending);
+                }
+                writeResults(results, report);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            createChunk(ownerId, chunk, pending);
+        }
+        writeResults(results, report);
+    }
+
+    private long readLine(BufferedReader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        long length = 0;
+        int previous = -1;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (length++ < maxLineLength) {
+                line.append((char) c);
+            }
+            previous = c;
+        }
+        if (previous == '\r') {
+            if (line.length() == length) {
+                line.setLength(line.length() - 1);
+            }
+            length--;
+        }
+
+        return c == -1 && length == 0 ? -1 : length;
+    }
+
+    private void parse(String line, ItemImportResultDto result, List<ItemDto> chunk,
+                       List<ItemImportResultDto> pending) {
+        try {
+            ItemDto itemDto = itemReader.readValue(line);
+            List<String> errors = validator.validate(itemDto, OnCreate.class)
+                                           .stream()
+                                           .map(ConstraintViolation::getMessage)
+                                           .sorted()
+                                           .collect(Collectors.toList());
+            if (errors.isEmpty()) {
+                pending.add(result);
+                chunk.add(itemDto);
+            } else {
+                reject(result, Status.INVALID, errors);
+            }
+        } catch (JsonProcessingException e) {
+            reject(result, Status.INVALID, List.of("Malformed JSON: " + e.getOriginalMessage()));
+        }
+    }
+
+    private void createChunk(Long ownerId, List<ItemDto> chunk, List<ItemImportResultDto> pending) {
+        try {
+            ResponseEntity<Object> response = itemClient.createAll(ownerId, chunk)
+                                                        .block();
+            if (response == null || !response.getStatusCode().is2xxSuccessful()) {
+                throw new IllegalStateException(describe(response));
+            }
+            List<ItemDto> createdItems = itemListReader.readValue((byte[]) response.getBody());
+            for (int i = 0; i < pending.size(); i++) {
+                pending.get(i).setStatus(Status.CREATED);
+                pending.get(i).setId(createdItems.get(i).getId());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to import {} items of owner {}: {}", chunk.size(), ownerId, e.getMessage());
+            pending.forEach(result -> reject(result, Status.FAILED, List.of(String.valueOf(e.getMessage()))));
+        }
+        pending.clear();
+        chunk.clear();
+    }
+
+    private void writeResults(List<ItemImportResultDto> results, OutputStream report) throws IOException {
+        for (ItemImportResultDto result : results) {
+            report.write(resultWriter.writeValueAsBytes(result));
+            report.write('\n');
+        }
+        report.flush();
+        results.clear();
+    }
+
+    private static void reject(ItemImportResultDto result, Status status, List<String> errors) {
+        result.setStatus(status);
+        result.setErrors(errors);
+    }
+
+    private static String describe(ResponseEntity<Object> response) {
+        if (response == null) {
+            return "No response from server";
+        }
+        Object body = response.getBody();
+        return "Server responded with " + response.getStatusCodeValue()
+                + (body instanceof byte[] ? ": " + new String((byte[]) body, StandardCharsets.UTF_8) : "");
+    }
+
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemImportResultDto {
+    private final long line;
+    private Status status;
+    private Long id;
+    private List<String> errors;
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        FAILED
+    }
+
+}
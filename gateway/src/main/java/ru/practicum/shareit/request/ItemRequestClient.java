@@ -3,9 +3,10 @@ package ru.practicum.shareit.request;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
@@ -15,23 +16,27 @@ import java.util.Map;
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             RestTemplateBuilder builder,
+                             @Value("${shareit-server.reactive.enabled:false}") boolean reactive,
+                             WebClient.Builder webClientBuilder) {
         super(
                 builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                       .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                       .build()
+                       .build(),
+                reactive ? webClientBuilder.baseUrl(serverUrl + API_PREFIX)
+                                           .build() : null
         );
     }
 
-    public ResponseEntity<Object> getById(Long requesterId, Long requestId) {
+    public Mono<ResponseEntity<Object>> getById(Long requesterId, Long requestId) {
         return get("/" + requestId, requesterId);
     }
 
-    public ResponseEntity<Object> getOwnRequests(Long userId) {
+    public Mono<ResponseEntity<Object>> getOwnRequests(Long userId) {
         return get("/", userId);
     }
 
-    public ResponseEntity<Object> getAllRequests(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllRequests(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -40,7 +45,7 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> create(Long requesterId, ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> create(Long requesterId, ItemRequestDto itemRequestDto) {
         return post("/", requesterId, itemRequestDto);
     }
 
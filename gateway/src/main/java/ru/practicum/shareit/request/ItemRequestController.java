@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
@@ -18,7 +19,7 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @GetMapping("{requestId}")
-    public ResponseEntity<Object> getById(
+    public Mono<ResponseEntity<Object>> getById(
             @RequestHeader("X-Sharer-User-Id") Long requesterId,
             @PathVariable Long requestId
     ) {
@@ -26,12 +27,12 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getOwnRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> getOwnRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemRequestClient.getOwnRequests(userId);
     }
 
     @GetMapping("all")
-    public ResponseEntity<Object> getAllRequests(
+    public Mono<ResponseEntity<Object>> getAllRequests(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(required = false, defaultValue = "0") @PositiveOrZero Integer from,
             @RequestParam(required = false, defaultValue = "20") @Positive Integer size
@@ -40,7 +41,7 @@ public class ItemRequestController {
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(
+    public Mono<ResponseEntity<Object>> create(
             @RequestHeader("X-Sharer-User-Id") Long requesterId,
             @Valid @RequestBody ItemRequestDto itemRequestDto
     ) {
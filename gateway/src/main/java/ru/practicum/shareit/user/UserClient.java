@@ -3,42 +3,91 @@ package ru.practicum.shareit.user;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.item.ItemClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
+    private static final String CACHE_REGION = "users:";
+
+    private final GatewayResponseCache cache;
 
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl,
+                      RestTemplateBuilder builder,
+                      @Value("${shareit-server.reactive.enabled:false}") boolean reactive,
+                      WebClient.Builder webClientBuilder,
+                      GatewayResponseCache cache) {
         super(
                 builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                       .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                       .build()
+                       .build(),
+                reactive ? webClientBuilder.baseUrl(serverUrl + API_PREFIX)
+                                           .build() : null
         );
+        this.cache = cache;
+    }
+
+    public Mono<ResponseEntity<Object>> create(UserDto userDto) {
+        return post("/", userDto)
+                .doOnNext(response -> cache.invalidate(allUsersCacheKey()));
+    }
+
+    public Mono<ResponseEntity<Object>> createAll(List<UserDto> userDtos) {
+        return post("/batch", userDtos)
+                .doOnNext(response -> cache.invalidate(allUsersCacheKey()));
     }
 
-    public ResponseEntity<Object> create(UserDto userDto) {
-        return post("/", userDto);
+    public Mono<ResponseEntity<Object>> getUser(Long id) {
+        return cache.get(userCacheKey(id), () -> get("/" + id));
     }
 
-    public ResponseEntity<Object> getUser(Long id) {
-        return get("/" + id);
+    public Mono<ResponseEntity<Object>> update(Long id, UserDto userDto) {
+        return patch("/" + id, userDto)
+                .doOnNext(response -> cache.invalidate(userCacheKey(id), allUsersCacheKey(),
+                        ItemClient.regionCacheKey()));
+    }
+
+    public Mono<ResponseEntity<Object>> delete(Long id) {
+        return delete("/" + id)
+                .doOnNext(response -> cache.invalidate(CACHE_REGION, ItemClient.regionCacheKey()));
+    }
+
+    public Mono<ResponseEntity<Object>> getAll(Integer from, Integer size, Long after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "from", from,
+                "size", size
+        ));
+        if (after != null) {
+            parameters.put("after", after);
+        }
+        String query = after == null ? "?from={from}&size={size}" : "?from={from}&size={size}&after={after}";
+        String key = GatewayResponseCache.key(CACHE_REGION, "/", null, parameters);
+
+        return cache.get(key, () -> get(query, null, parameters));
     }
 
-    public ResponseEntity<Object> update(Long id, UserDto userDto) {
-        return patch("/" + id, userDto);
+    public void export(HttpServletResponse response) throws IOException {
+        stream("/export", null, null, response);
     }
 
-    public void delete(Long id) {
-        delete("/" + id);
+    private static String userCacheKey(Long id) {
+        return GatewayResponseCache.key(CACHE_REGION, "/" + id, null, null);
     }
 
-    public ResponseEntity<Object> getAll() {
-        return get("/");
+    private static String allUsersCacheKey() {
+        return GatewayResponseCache.key(CACHE_REGION, "/", null, null);
     }
 
 }
@@ -4,43 +4,72 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.validator.Marker.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.io.IOException;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "users")
 @RequiredArgsConstructor
 @Validated
 public class UserController {
+    private static final int BATCH_MAX_SIZE = 1000;
+
     private final UserClient userClient;
 
     @PostMapping
     @Validated({OnCreate.class})
-    public ResponseEntity<Object> create(@Valid @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(@Valid @RequestBody UserDto userDto) {
         return userClient.create(userDto);
     }
 
+    @PostMapping("batch")
+    @Validated({OnCreate.class})
+    public Mono<ResponseEntity<Object>> createAll(
+            @RequestBody
+            @NotEmpty(groups = OnCreate.class)
+            @Size(groups = OnCreate.class, max = BATCH_MAX_SIZE) List<@Valid UserDto> userDtos
+    ) {
+        return userClient.createAll(userDtos);
+    }
+
     @GetMapping("{id}")
-    public ResponseEntity<Object> getUser(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable Long id) {
         return userClient.getUser(id);
     }
 
     @PatchMapping("{id}")
     @Validated({OnUpdate.class})
-    public ResponseEntity<Object> update(@PathVariable Long id, @Valid @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> update(@PathVariable Long id, @Valid @RequestBody UserDto userDto) {
         return userClient.update(id, userDto);
     }
 
     @DeleteMapping("{id}")
-    public void delete(@PathVariable Long id) {
-        userClient.delete(id);
+    public Mono<ResponseEntity<Object>> delete(@PathVariable Long id) {
+        return userClient.delete(id);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
-        return userClient.getAll();
+    public Mono<ResponseEntity<Object>> getAll(
+            @RequestParam(required = false, defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(required = false, defaultValue = "20") @Positive Integer size,
+            @RequestParam(required = false) @Positive Long after
+    ) {
+        return userClient.getAll(from, size, after);
+    }
+
+    @GetMapping("export")
+    public void export(HttpServletResponse response) throws IOException {
+        userClient.export(response);
     }
 
 }
@@ -0,0 +1,132 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class GatewayLoadTest {
+    private static final String MODE = System.getProperty("loadtest.mode", "platform");
+    private static final int SERVER_DELAY_MILLIS = Integer.getInteger("loadtest.delay", 200);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 500);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 5000);
+    private static final byte[] USER = "{\"id\":1,\"name\":\"John\",\"email\":\"john.doe@mail.com\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final AtomicInteger SERVER_IN_FLIGHT = new AtomicInteger();
+    private static final AtomicInteger SERVER_MAX_IN_FLIGHT = new AtomicInteger();
+
+    private static HttpServer server;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENCY * 2);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/users", exchange -> {
+            SERVER_MAX_IN_FLIGHT.accumulateAndGet(SERVER_IN_FLIGHT.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(SERVER_DELAY_MILLIS);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, USER.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(USER);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                SERVER_IN_FLIGHT.decrementAndGet();
+            }
+        });
+        server.start();
+
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+        registry.add("shareit.threads.mode", () -> "virtual".equals(MODE) ? "virtual" : "platform");
+        registry.add("shareit-server.reactive.enabled", () -> "reactive".equals(MODE));
+        registry.add("shareit-server.cache.enabled", () -> false);
+        registry.add("server.tomcat.max-connections", () -> CONCURRENCY * 2);
+        registry.add("logging.level.org.springframework.web.client.RestTemplate", () -> "INFO");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void whenConcurrentClientsWaitOnSlowServer_thenReportLatencyPercentiles() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                                      .version(HttpClient.Version.HTTP_1_1)
+                                      .executor(Executors.newFixedThreadPool(16))
+                                      .connectTimeout(Duration.ofSeconds(10))
+                                      .build();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Integer>> responses = new ArrayList<>();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            inFlight.acquire();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/" + (i + 1)))
+                                             .timeout(Duration.ofSeconds(60))
+                                             .build();
+            long sent = System.nanoTime();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                                .whenComplete((response, e) -> {
+                                    latencies.add(System.nanoTime() - sent);
+                                    inFlight.release();
+                                })
+                                .thenApply(HttpResponse::statusCode));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+        long elapsed = System.nanoTime() - started;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        log.info("mode={} requests={} concurrency={} maxUpstreamInFlight={} serverDelay={}ms throughput={} req/s "
+                        + "p50={}ms p99={}ms max={}ms",
+                MODE, REQUESTS, CONCURRENCY, SERVER_MAX_IN_FLIGHT.get(), SERVER_DELAY_MILLIS,
+                REQUESTS * 1_000_000_000L / elapsed,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+
+        assertEquals(REQUESTS, responses.stream()
+                                        .map(CompletableFuture::join)
+                                        .filter(status -> status == 200)
+                                        .count());
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return Duration.ofNanos(sorted.get(Math.max(index, 0))).toMillis();
+    }
+
+}
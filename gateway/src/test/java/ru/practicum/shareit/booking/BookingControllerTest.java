@@ -8,12 +8,19 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
+import ru.practicum.shareit.booking.dto.BookingExportScope;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.BookingStatus;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -110,6 +117,18 @@ class BookingControllerTest {
            .andExpect(status().isOk());
     }
 
+    @Test
+    void whenGetByBookerIdAfterCursor_thenPassCursorToClient() throws Exception {
+        mvc.perform(get("/bookings")
+                   .header("X-Sharer-User-Id", 1L)
+                   .param("state", "ALL")
+                   .param("size", "10")
+                   .param("after", "2022-10-01T12:00,15"))
+           .andExpect(status().isOk());
+
+        verify(client).getByBookerId(1L, BookingState.ALL, 0, 10, "2022-10-01T12:00,15");
+    }
+
     @Test
     void whenGetByBookerIdWithStateNotExist_thenReturnBadRequest() throws Exception {
         mvc.perform(get("/bookings")
@@ -180,4 +199,25 @@ class BookingControllerTest {
            .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void whenExport_thenStreamThroughClient() throws Exception {
+        mvc.perform(get("/bookings/export")
+                   .header("X-Sharer-User-Id", 1L)
+                   .param("scope", "owner")
+                   .param("format", "csv"))
+           .andExpect(status().isOk());
+
+        verify(client).export(eq(1L), eq(BookingExportScope.OWNER), eq(BookingExportFormat.CSV), any());
+    }
+
+    @Test
+    void whenExportWithUnknownFormat_thenReturnBadRequest() throws Exception {
+        mvc.perform(get("/bookings/export")
+                   .header("X-Sharer-User-Id", 1L)
+                   .param("format", "xml"))
+           .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(client);
+    }
+
 }
@@ -0,0 +1,251 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTest {
+    private static final String SERVER_URL = "http://localhost:9090/items";
+
+    @Test
+    void whenBlockingMode_thenExchangeThroughRestTemplate() {
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest)
+                                                            .build();
+        server.expect(requestTo(SERVER_URL + "/search?text=drill"))
+              .andExpect(method(HttpMethod.GET))
+              .andExpect(header("X-Sharer-User-Id", "1"))
+              .andRespond(withSuccess("[{\"id\":1}]", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = new TestClient(rest, null).search(1L, "drill")
+                                                                    .block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals("[{\"id\":1}]".getBytes(), (byte[]) response.getBody());
+        server.verify();
+    }
+
+    @Test
+    void whenBlockingModeAndServerError_thenReturnServerStatusAndBody() {
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest)
+                                                            .build();
+        server.expect(requestTo(SERVER_URL + "/search?text=drill"))
+              .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+                                                          .body("{\"error\":\"not found\"}"));
+
+        ResponseEntity<Object> response = new TestClient(rest, null).search(1L, "drill")
+                                                                    .block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals("{\"error\":\"not found\"}".getBytes(), (byte[]) response.getBody());
+    }
+
+    @Test
+    void whenBlockingModeAndEmptyBody_thenReturnStatusOnly() {
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest)
+                                                            .build();
+        server.expect(requestTo(SERVER_URL + "/1"))
+              .andExpect(method(HttpMethod.DELETE))
+              .andRespond(withSuccess());
+
+        ResponseEntity<Object> response = new TestClient(rest, null).delete(1L)
+                                                                    .block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(response.hasBody());
+    }
+
+    @Test
+    void whenReactiveMode_thenExchangeThroughWebClient() {
+        List<ClientRequest> requests = new ArrayList<>();
+        WebClient web = WebClient.builder()
+                                 .baseUrl(SERVER_URL)
+                                 .exchangeFunction(request -> {
+                                     requests.add(request);
+                                     return Mono.just(ClientResponse.create(HttpStatus.OK)
+                                                                    .header("Content-Type", "application/json")
+                                                                    .body("[{\"id\":1}]")
+                                                                    .build());
+                                 })
+                                 .build();
+
+        ResponseEntity<Object> response = new TestClient(new RestTemplate(), web).search(1L, "drill")
+                                                                                  .block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals("[{\"id\":1}]".getBytes(), (byte[]) response.getBody());
+        assertEquals(1, requests.size());
+        assertEquals(HttpMethod.GET, requests.get(0).method());
+        assertEquals(SERVER_URL + "/search?text=drill", requests.get(0).url().toString());
+        assertEquals("1", requests.get(0).headers().getFirst("X-Sharer-User-Id"));
+    }
+
+    @Test
+    void whenReactiveModeAndServerError_thenReturnServerStatusAndBody() {
+        WebClient web = WebClient.builder()
+                                 .baseUrl(SERVER_URL)
+                                 .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND)
+                                                                                      .body("{\"error\":\"not found\"}")
+                                                                                      .build()))
+                                 .build();
+
+        ResponseEntity<Object> response = new TestClient(new RestTemplate(), web).search(1L, "drill")
+                                                                                  .block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals("{\"error\":\"not found\"}".getBytes(), (byte[]) response.getBody());
+    }
+
+    @Test
+    void whenReactiveModeAndEmptyBody_thenReturnStatusOnly() {
+        WebClient web = WebClient.builder()
+                                 .baseUrl(SERVER_URL)
+                                 .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                                                                                      .build()))
+                                 .build();
+
+        ResponseEntity<Object> response = new TestClient(new RestTemplate(), web).delete(1L)
+                                                                                  .block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(response.hasBody());
+    }
+
+    @Test
+    void whenIdenticalGetsInFlight_thenSendOneUpstreamRequest() {
+        List<ClientRequest> requests = new ArrayList<>();
+        Sinks.One<ClientResponse> server = Sinks.one();
+        WebClient web = WebClient.builder()
+                                 .baseUrl(SERVER_URL)
+                                 .exchangeFunction(request -> {
+                                     requests.add(request);
+                                     return server.asMono();
+                                 })
+                                 .build();
+        TestClient client = new TestClient(new RestTemplate(), web);
+
+        CompletableFuture<ResponseEntity<Object>> first = client.search(1L, "drill").toFuture();
+        CompletableFuture<ResponseEntity<Object>> second = client.search(1L, "drill").toFuture();
+        CompletableFuture<ResponseEntity<Object>> otherUser = client.search(2L, "drill").toFuture();
+        server.tryEmitValue(ClientResponse.create(HttpStatus.OK)
+                                          .header("Content-Type", "application/json")
+                                          .body("[{\"id\":1}]")
+                                          .build());
+
+        assertEquals(2, requests.size());
+        assertSame(first.join(), second.join());
+        assertArrayEquals("[{\"id\":1}]".getBytes(), (byte[]) otherUser.join().getBody());
+    }
+
+    @Test
+    void whenPreviousGetCompleted_thenSendNewUpstreamRequest() {
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest)
+                                                            .build();
+        server.expect(ExpectedCount.twice(), requestTo(SERVER_URL + "/search?text=drill"))
+              .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        TestClient client = new TestClient(rest, null);
+
+        client.search(1L, "drill").block();
+        client.search(1L, "drill").block();
+
+        server.verify();
+    }
+
+    @Test
+    void whenStream_thenCopyServerResponseToServletResponse() throws IOException {
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest)
+                                                            .build();
+        server.expect(requestTo(SERVER_URL + "/export?format=CSV"))
+              .andExpect(method(HttpMethod.GET))
+              .andExpect(header("X-Sharer-User-Id", "1"))
+              .andRespond(withSuccess("id\n1\n", MediaType.parseMediaType("text/csv")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new TestClient(rest, null).export(1L, "CSV", response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("text/csv", response.getContentType());
+        assertEquals("id\n1\n", response.getContentAsString());
+        server.verify();
+    }
+
+    @Test
+    void whenStreamAndServerError_thenCopyServerStatusAndBody() throws IOException {
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest)
+                                                            .build();
+        server.expect(requestTo(SERVER_URL + "/export?format=CSV"))
+              .andRespond(withStatus(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON)
+                                                            .body("{\"error\":\"bad format\"}"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new TestClient(rest, null).export(1L, "CSV", response);
+
+        assertEquals(400, response.getStatus());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+        assertEquals("{\"error\":\"bad format\"}", response.getContentAsString());
+    }
+
+    private RestTemplate createRestTemplate() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        return rest;
+    }
+
+    private static class TestClient extends BaseClient {
+
+        TestClient(RestTemplate rest, WebClient web) {
+            super(rest, web);
+        }
+
+        Mono<ResponseEntity<Object>> search(Long userId, String text) {
+            return get("/search?text={text}", userId, Map.of("text", text));
+        }
+
+        Mono<ResponseEntity<Object>> delete(Long id) {
+            return delete("/" + id);
+        }
+
+        void export(Long userId, String format, HttpServletResponse response) throws IOException {
+            stream("/export?format={format}", userId, Map.of("format", format), response);
+        }
+    }
+
+}
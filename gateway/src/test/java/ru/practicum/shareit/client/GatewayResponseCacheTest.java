@@ -0,0 +1,138 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayResponseCacheTest {
+    private static final String ITEM_KEY = GatewayResponseCache.key("items:", "/1", 1L, null);
+
+    private final GatewayResponseCache cache = new GatewayResponseCache(true, 100, Duration.ofMinutes(1));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void whenBuildKey_thenSortParametersAndIncludeUser() {
+        String key = GatewayResponseCache.key("items:", "/search", 1L,
+                Map.of("text", "drill", "size", 20, "from", 0));
+
+        assertEquals("items:/search|1|from=0&size=20&text=drill", key);
+        assertEquals("users:/|null|", GatewayResponseCache.key("users:", "/", null, null));
+    }
+
+    @Test
+    void whenSameKeyRequestedTwice_thenLoadOnce() {
+        ResponseEntity<Object> first = cache.get(ITEM_KEY, () -> load(HttpStatus.OK)).block();
+        ResponseEntity<Object> second = cache.get(ITEM_KEY, () -> load(HttpStatus.OK)).block();
+
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+    }
+
+    @Test
+    void whenErrorResponse_thenNotCached() {
+        cache.get(ITEM_KEY, () -> load(HttpStatus.NOT_FOUND)).block();
+        cache.get(ITEM_KEY, () -> load(HttpStatus.NOT_FOUND)).block();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void whenInvalidatePrefix_thenMatchingEntriesReloaded() {
+        String otherUserKey = GatewayResponseCache.key("items:", "/1", 2L, null);
+        String otherItemKey = GatewayResponseCache.key("items:", "/10", 1L, null);
+        cache.get(ITEM_KEY, () -> load(HttpStatus.OK)).block();
+        cache.get(otherUserKey, () -> load(HttpStatus.OK)).block();
+        cache.get(otherItemKey, () -> load(HttpStatus.OK)).block();
+
+        cache.invalidate("items:/1|");
+        cache.get(ITEM_KEY, () -> load(HttpStatus.OK)).block();
+        cache.get(otherUserKey, () -> load(HttpStatus.OK)).block();
+        cache.get(otherItemKey, () -> load(HttpStatus.OK)).block();
+
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void whenInvalidatedWhileLoading_thenStaleResponseNotCached() {
+        Sinks.One<ResponseEntity<Object>> server = Sinks.one();
+        Mono<ResponseEntity<Object>> inFlight = cache.get(ITEM_KEY, server::asMono);
+
+        cache.invalidate("items:/1|");
+        server.tryEmitValue(ResponseEntity.ok("stale"));
+        inFlight.block();
+        cache.get(ITEM_KEY, () -> load(HttpStatus.OK)).block();
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void whenOtherPathInvalidatedWhileLoading_thenResponseCached() {
+        String otherItemKey = GatewayResponseCache.key("items:", "/10", 1L, null);
+        Sinks.One<ResponseEntity<Object>> server = Sinks.one();
+        Mono<ResponseEntity<Object>> inFlight = cache.get(otherItemKey, server::asMono);
+
+        cache.invalidate("items:/1|", "users:");
+        server.tryEmitValue(ResponseEntity.ok("fresh"));
+        inFlight.block();
+        cache.get(otherItemKey, () -> load(HttpStatus.OK)).block();
+
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void whenInvalidateRegion_thenReloadOnlyThatRegion() {
+        String searchKey = GatewayResponseCache.key("items:", "/search", 1L, Map.of("text", "drill"));
+        String userKey = GatewayResponseCache.key("users:", "/1", null, null);
+        cache.get(ITEM_KEY, () -> load(HttpStatus.OK)).block();
+        cache.get(searchKey, () -> load(HttpStatus.OK)).block();
+        cache.get(userKey, () -> load(HttpStatus.OK)).block();
+
+        cache.invalidate("items:");
+        cache.get(ITEM_KEY, () -> load(HttpStatus.OK)).block();
+        cache.get(searchKey, () -> load(HttpStatus.OK)).block();
+        cache.get(userKey, () -> load(HttpStatus.OK)).block();
+
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void whenDisabled_thenAlwaysLoad() {
+        GatewayResponseCache disabled = new GatewayResponseCache(false, 100, Duration.ofMinutes(1));
+
+        disabled.get(ITEM_KEY, () -> load(HttpStatus.OK)).block();
+        disabled.get(ITEM_KEY, () -> load(HttpStatus.OK)).block();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void whenBoundToRegistry_thenReportHitsAndMisses() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(ITEM_KEY, () -> load(HttpStatus.OK)).block();
+        cache.get(ITEM_KEY, () -> load(HttpStatus.OK)).block();
+
+        assertEquals(1, registry.get("cache.gets").tag("cache", "gateway.responses").tag("result", "hit")
+                                .functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tag("cache", "gateway.responses").tag("result", "miss")
+                                .functionCounter().count());
+    }
+
+    private Mono<ResponseEntity<Object>> load(HttpStatus status) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return ResponseEntity.status(status).body("body");
+        });
+    }
+
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.client.HttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpClientConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(RestTemplateAutoConfiguration.class))
+            .withUserConfiguration(HttpClientConfig.class)
+            .withInitializer(context -> context.getBeanFactory()
+                                               .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withPropertyValues(
+                    "shareit-server.http.max-total=50",
+                    "shareit-server.http.max-per-route=40",
+                    "shareit-server.http.connect-timeout=1s",
+                    "shareit-server.http.read-timeout=10s",
+                    "shareit-server.http.connection-request-timeout=3s",
+                    "shareit-server.http.keep-alive=20s",
+                    "shareit-server.http.idle-timeout=20s",
+                    "shareit-server.http.validate-after-inactivity=1s"
+            );
+
+    @Test
+    void whenContextStarts_thenConfigureConnectionPoolFromProperties() {
+        contextRunner.run(context -> {
+            PoolingHttpClientConnectionManager connectionManager =
+                    context.getBean(PoolingHttpClientConnectionManager.class);
+
+            assertThat(connectionManager.getMaxTotal()).isEqualTo(50);
+            assertThat(connectionManager.getDefaultMaxPerRoute()).isEqualTo(40);
+            assertThat(connectionManager.getValidateAfterInactivity()).isEqualTo(1000);
+        });
+    }
+
+    @Test
+    void whenBuildRestTemplate_thenShareOnePooledHttpClient() {
+        contextRunner.run(context -> {
+            RestTemplateBuilder builder = context.getBean(RestTemplateBuilder.class);
+            HttpClient httpClient = context.getBean(HttpClient.class);
+
+            HttpComponentsClientHttpRequestFactory first =
+                    (HttpComponentsClientHttpRequestFactory) builder.build().getRequestFactory();
+            HttpComponentsClientHttpRequestFactory second =
+                    (HttpComponentsClientHttpRequestFactory) builder.build().getRequestFactory();
+
+            assertThat(first.getHttpClient()).isSameAs(httpClient);
+            assertThat(second.getHttpClient()).isSameAs(httpClient);
+        });
+    }
+
+    @Test
+    void whenMetricsBound_thenExposeConnectionPoolGauges() {
+        contextRunner.run(context -> {
+            MeterRegistry registry = new SimpleMeterRegistry();
+            context.getBean(MeterBinder.class).bindTo(registry);
+
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.max")
+                               .tag("httpclient", "shareit-server")
+                               .gauge()
+                               .value()).isEqualTo(50);
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.pending")
+                               .gauge()
+                               .value()).isZero();
+        });
+    }
+
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ThreadingConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(ThreadingConfig.class);
+
+    @Test
+    void whenPlatformMode_thenUsePooledPlatformThreads() {
+        contextRunner.withPropertyValues("shareit.threads.mode=platform")
+                     .run(context -> {
+                         assertThat(context).doesNotHaveBean(ThreadingConfig.class);
+                         assertThat(context).hasSingleBean(AsyncTaskExecutor.class);
+                         assertThat(context.getBean(AsyncTaskExecutor.class)
+                                           .submit(() -> Thread.currentThread().getName())
+                                           .get()).startsWith("task-");
+                     });
+    }
+
+    @Test
+    void whenVirtualModeOnJava21_thenRunTasksOnVirtualThreads() {
+        assumeTrue(Runtime.version().feature() >= 21);
+
+        contextRunner.withPropertyValues("shareit.threads.mode=virtual")
+                     .run(context -> {
+                         Future<String> thread = context.getBean(ExecutorService.class)
+                                                        .submit(() -> Thread.currentThread().toString());
+                         assertThat(thread.get()).startsWith("VirtualThread");
+                     });
+    }
+
+    @Test
+    void whenVirtualModeContextCloses_thenShutDownExecutor() {
+        assumeTrue(Runtime.version().feature() >= 21);
+        AtomicReference<ExecutorService> executor = new AtomicReference<>();
+
+        contextRunner.withPropertyValues("shareit.threads.mode=virtual")
+                     .run(context -> executor.set(context.getBean(ExecutorService.class)));
+
+        assertThat(executor.get().isShutdown()).isTrue();
+    }
+
+    @Test
+    void whenVirtualModeBeforeJava21_thenFailOnStartup() {
+        assumeTrue(Runtime.version().feature() < 21);
+
+        contextRunner.withPropertyValues("shareit.threads.mode=virtual")
+                     .run(context -> assertThat(context).getFailure()
+                                                        .hasRootCauseInstanceOf(NoSuchMethodException.class)
+                                                        .hasMessageContaining("requires Java 21"));
+    }
+
+}
@@ -11,8 +11,10 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -24,6 +26,9 @@ class ItemControllerTest {
     @MockBean
     private ItemClient client;
 
+    @MockBean
+    private ItemImporter importer;
+
     @Autowired
     private MockMvc mvc;
 
@@ -41,6 +46,44 @@ class ItemControllerTest {
            .andExpect(status().isOk());
     }
 
+    @Test
+    void whenCreateItemsBatch_thenReturnOkStatus() throws Exception {
+        mvc.perform(post("/items/batch")
+                   .content(mapper.writeValueAsString(List.of(itemDto)))
+                   .header("X-Sharer-User-Id", 1L)
+                   .characterEncoding(StandardCharsets.UTF_8)
+                   .contentType(MediaType.APPLICATION_JSON)
+                   .accept(MediaType.APPLICATION_JSON))
+           .andExpect(status().isOk());
+    }
+
+    @Test
+    void whenCreateItemsBatchWithInvalidItem_thenReturnBadRequest() throws Exception {
+        ItemDto itemWithoutName = ItemDto.builder()
+                                         .description("description")
+                                         .available(true)
+                                         .build();
+
+        mvc.perform(post("/items/batch")
+                   .content(mapper.writeValueAsString(List.of(itemDto, itemWithoutName)))
+                   .header("X-Sharer-User-Id", 1L)
+                   .characterEncoding(StandardCharsets.UTF_8)
+                   .contentType(MediaType.APPLICATION_JSON)
+                   .accept(MediaType.APPLICATION_JSON))
+           .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenCreateEmptyItemsBatch_thenReturnBadRequest() throws Exception {
+        mvc.perform(post("/items/batch")
+                   .content("[]")
+                   .header("X-Sharer-User-Id", 1L)
+                   .characterEncoding(StandardCharsets.UTF_8)
+                   .contentType(MediaType.APPLICATION_JSON)
+                   .accept(MediaType.APPLICATION_JSON))
+           .andExpect(status().isBadRequest());
+    }
+
     @Test
     void whenGetOwnItems_thenReturnOkStatus() throws Exception {
 
@@ -187,6 +230,24 @@ class ItemControllerTest {
            .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void whenGetAvailability_thenReturnOkStatus() throws Exception {
+        mvc.perform(get("/items/1/availability")
+                   .header("X-Sharer-User-Id", 1L)
+                   .param("from", "2030-01-01T10:00:00")
+                   .param("to", "2030-01-02T10:00:00"))
+           .andExpect(status().isOk());
+    }
+
+    @Test
+    void whenGetAvailabilityWithEmptyPeriod_thenReturnStatus4xx() throws Exception {
+        mvc.perform(get("/items/1/availability")
+                   .header("X-Sharer-User-Id", 1L)
+                   .param("from", "2030-01-02T10:00:00")
+                   .param("to", "2030-01-01T10:00:00"))
+           .andExpect(status().isBadRequest());
+    }
+
     @Test
     void whenCreateComment_thenReturnOkStatus() throws Exception {
         CommentDto commentDto = CommentDto.builder()
@@ -204,4 +265,14 @@ class ItemControllerTest {
            .andExpect(status().isOk());
     }
 
+    @Test
+    void whenImportItems_thenStreamNdjsonReport() throws Exception {
+        mvc.perform(post("/items/import")
+                   .header("X-Sharer-User-Id", 1)
+                   .content(mapper.writeValueAsString(itemDto))
+                   .contentType(MediaType.APPLICATION_NDJSON))
+           .andExpect(status().isOk())
+           .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+    }
+
 }
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemImporterTest {
+    private static final String DRILL = "{\"name\":\"Drill\",\"description\":\"Cordless drill\",\"available\":true}";
+    private static final String SAW = "{\"name\":\"Saw\",\"description\":\"Hand saw\",\"available\":false}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private ItemClient itemClient;
+
+    @Test
+    void whenImportValidAndInvalidLines_thenCreateValidItemsInChunksAndReportEveryLine() throws IOException {
+        when(itemClient.createAll(eq(1L), anyList()))
+                .thenReturn(Mono.just(ResponseEntity.ok(bytes("[{\"id\":10}]"))))
+                .thenReturn(Mono.just(ResponseEntity.ok(bytes("[{\"id\":11},{\"id\":12}]"))));
+
+        String[] report = importItems(3, DRILL + "\n"
+                + "{\"description\":\"No name\",\"available\":true}\n"
+                + "\n"
+                + "{not json\n"
+                + SAW + "\n"
+                + DRILL + "\n").split("\n");
+
+        assertEquals(5, report.length);
+        assertEquals("{\"line\":1,\"status\":\"CREATED\",\"id\":10}", report[0]);
+        assertEquals("{\"line\":2,\"status\":\"INVALID\",\"errors\":[\"The name should not be null or blank.\"]}",
+                report[1]);
+        assertTrue(report[2].startsWith("{\"line\":4,\"status\":\"INVALID\",\"errors\":[\"Malformed JSON: "));
+        assertEquals("{\"line\":5,\"status\":\"CREATED\",\"id\":11}", report[3]);
+        assertEquals("{\"line\":6,\"status\":\"CREATED\",\"id\":12}", report[4]);
+        verify(itemClient, times(2)).createAll(eq(1L), anyList());
+    }
+
+    @Test
+    void whenServerRejectsChunk_thenReportChunkLinesAsFailed() throws IOException {
+        when(itemClient.createAll(eq(1L), anyList()))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                                    .body(bytes("{\"error\":\"User with id 1 not found!\"}"))));
+
+        String report = importItems(10, DRILL + "\n" + SAW);
+
+        assertEquals("{\"line\":1,\"status\":\"FAILED\",\"errors\":"
+                + "[\"Server responded with 404: {\\\"error\\\":\\\"User with id 1 not found!\\\"}\"]}\n"
+                + "{\"line\":2,\"status\":\"FAILED\",\"errors\":"
+                + "[\"Server responded with 404: {\\\"error\\\":\\\"User with id 1 not found!\\\"}\"]}\n", report);
+    }
+
+    @Test
+    void whenTransportFailsForChunk_thenReportChunkAsFailedAndContinue() throws IOException {
+        when(itemClient.createAll(eq(1L), anyList()))
+                .thenReturn(Mono.error(new ResourceAccessException("Connection refused")))
+                .thenReturn(Mono.just(ResponseEntity.ok(bytes("[{\"id\":12}]"))));
+
+        String report = importItems(1, DRILL + "\n" + SAW);
+
+        assertEquals("{\"line\":1,\"status\":\"FAILED\",\"errors\":[\"Connection refused\"]}\n"
+                + "{\"line\":2,\"status\":\"CREATED\",\"id\":12}\n", report);
+    }
+
+    @Test
+    void whenNoValidLines_thenDoNotCallServer() throws IOException {
+        importItems(10, "{\"name\":\"\"}\n");
+
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void whenMostLinesAreInvalid_thenWriteReportEveryChunkSizeLines() throws IOException {
+        List<String> flushedReports = new ArrayList<>();
+        ByteArrayOutputStream report = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushedReports.add(toString(StandardCharsets.UTF_8));
+            }
+        };
+
+        importItems(2, "{}\n{}\n{}\n{}\n{}\n", 100, report);
+
+        assertEquals(3, flushedReports.size());
+        assertEquals(2, flushedReports.get(0).split("\n").length);
+        assertEquals(4, flushedReports.get(1).split("\n").length);
+        assertEquals(5, flushedReports.get(2).split("\n").length);
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void whenLineExceedsMaxLength_thenRejectItAndContinueWithNextLine() throws IOException {
+        when(itemClient.createAll(eq(1L), anyList()))
+                .thenReturn(Mono.just(ResponseEntity.ok(bytes("[{\"id\":10}]"))));
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+
+        importItems(10, "{\"name\":\"" + "x".repeat(1000) + "\"}\r\n" + DRILL + "\r\n", DRILL.length(), report);
+
+        assertEquals("{\"line\":1,\"status\":\"INVALID\",\"errors\":[\"Line exceeds " + DRILL.length()
+                + " characters\"]}\n"
+                + "{\"line\":2,\"status\":\"CREATED\",\"id\":10}\n", report.toString(StandardCharsets.UTF_8));
+    }
+
+    private String importItems(int chunkSize, String body) throws IOException {
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+
+        importItems(chunkSize, body, 1000, report);
+
+        return report.toString(StandardCharsets.UTF_8);
+    }
+
+    private void importItems(int chunkSize, String body, int maxLineLength, OutputStream report) throws IOException {
+        ItemImporter importer = new ItemImporter(itemClient, validator, objectMapper, chunkSize, maxLineLength);
+
+        importer.importItems(1L, new ByteArrayInputStream(bytes(body)), report);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -5,14 +5,23 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
 class UserControllerTest {
@@ -42,6 +51,30 @@ class UserControllerTest {
            .andExpect(status().isOk());
     }
 
+    @Test
+    void whenCreateUsersBatch_thenReturnStatus2xx() throws Exception {
+        mvc.perform(post("/users/batch")
+                   .content(mapper.writeValueAsString(List.of(userDto)))
+                   .characterEncoding(StandardCharsets.UTF_8)
+                   .contentType(MediaType.APPLICATION_JSON)
+                   .accept(MediaType.APPLICATION_JSON))
+           .andExpect(status().isOk());
+    }
+
+    @Test
+    void whenCreateUsersBatchWithNullEmail_thenReturnStatus4xx() throws Exception {
+        UserDto user = UserDto.builder()
+                              .name("name")
+                              .build();
+
+        mvc.perform(post("/users/batch")
+                   .content(mapper.writeValueAsString(List.of(userDto, user)))
+                   .characterEncoding(StandardCharsets.UTF_8)
+                   .contentType(MediaType.APPLICATION_JSON)
+                   .accept(MediaType.APPLICATION_JSON))
+           .andExpect(status().isBadRequest());
+    }
+
     @Test
     void whenCreateUserWithNullEmail_thenReturnStatus4xx() throws Exception {
         UserDto user = UserDto.builder()
@@ -136,6 +169,52 @@ class UserControllerTest {
            .andExpect(status().isOk());
     }
 
+    @Test
+    void whenClientRespondsAsynchronously_thenReturnServerResponse() throws Exception {
+        when(client.getUser(userDto.getId()))
+                .thenReturn(Mono.just(ResponseEntity.ok(Map.of("id", 1, "name", "John"))));
+
+        MvcResult result = mvc.perform(get("/users/" + userDto.getId()))
+                              .andExpect(request().asyncStarted())
+                              .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.name").value("John"));
+    }
+
+    @Test
+    void whenClientRespondsWithServerBytes_thenRelayBodyAsIs() throws Exception {
+        String body = "{\"id\":1,\"name\":\"John\",\"email\":\"john.doe@mail.com\"}";
+        when(client.getUser(userDto.getId()))
+                .thenReturn(Mono.just(ResponseEntity.ok()
+                                                    .contentType(MediaType.APPLICATION_JSON)
+                                                    .body(body.getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mvc.perform(get("/users/" + userDto.getId()))
+                              .andExpect(request().asyncStarted())
+                              .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+           .andExpect(status().isOk())
+           .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+           .andExpect(content().string(body));
+    }
+
+    @Test
+    void whenClientRespondsWithError_thenReturnServerStatus() throws Exception {
+        when(client.getUser(userDto.getId()))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                                    .body("{\"error\":\"User not found\"}".getBytes())));
+
+        MvcResult result = mvc.perform(get("/users/" + userDto.getId()))
+                              .andExpect(request().asyncStarted())
+                              .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+           .andExpect(status().isNotFound());
+    }
+
     @Test
     void whenDelete_thenReturnStatus200() throws Exception {
         mvc.perform(delete("/users/" + userDto.getId()))
@@ -146,6 +225,33 @@ class UserControllerTest {
     void whenGetAllUsers_thenReturnStatus200() throws Exception {
         mvc.perform(get("/users"))
            .andExpect(status().isOk());
+
+        verify(client).getAll(0, 20, null);
+    }
+
+    @Test
+    void whenGetAllUsersAfterCursor_thenPassPageParameters() throws Exception {
+        mvc.perform(get("/users")
+                   .param("size", "50")
+                   .param("after", "10"))
+           .andExpect(status().isOk());
+
+        verify(client).getAll(0, 50, 10L);
+    }
+
+    @Test
+    void whenGetAllUsersWithZeroSize_thenReturnBadRequest() throws Exception {
+        mvc.perform(get("/users")
+                   .param("size", "0"))
+           .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenExportUsers_thenStreamThroughClient() throws Exception {
+        mvc.perform(get("/users/export"))
+           .andExpect(status().isOk());
+
+        verify(client).export(any());
     }
 
 }
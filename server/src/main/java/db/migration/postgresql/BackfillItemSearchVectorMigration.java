@@ -0,0 +1,78 @@
+package db.migration.postgresql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+@Slf4j
+public class BackfillItemSearchVectorMigration implements JavaMigration {
+    private static final long BATCH_SIZE = 1000;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("3.1");
+    }
+
+    @Override
+    public String getDescription() {
+        return "backfill item search vector";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean isUndo() {
+        return false;
+    }
+
+    @Override
+    public boolean isBaselineMigration() {
+        return false;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        long maxId = findMaxItemId(connection);
+
+        try (PreparedStatement update = connection.prepareStatement("UPDATE items\n"
+                + "SET search_vector = to_tsvector('simple', name || ' ' || description)\n"
+                + "WHERE id > ?\n"
+                + "  AND id <= ?\n"
+                + "  AND search_vector IS NULL")) {
+            for (long from = 0; from < maxId; from += BATCH_SIZE) {
+                update.setLong(1, from);
+                update.setLong(2, from + BATCH_SIZE);
+                update.executeUpdate();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            }
+        }
+        log.info("Backfilled item search vectors up to id {}", maxId);
+    }
+
+    private static long findMaxItemId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT coalesce(max(id), 0) FROM items")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Component
+public class BookingCalendar {
+    private static final List<BookingStatus> BUSY_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final AsyncCache<Long, BusyIntervals> calendars;
+
+    public BookingCalendar(BookingRepository bookingRepository,
+                           @Value("${shareit.cache.calendars.max-size:10000}") long maxSize,
+                           @Value("${shareit.cache.calendars.ttl:10m}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.calendars = Caffeine.newBuilder()
+                                 .maximumSize(maxSize)
+                                 .expireAfterWrite(ttl)
+                                 .buildAsync();
+    }
+
+    public List<AvailabilitySlotDto> getFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime now = LocalDateTime.now();
+        BusyIntervals busy = getBusyIntervals(itemId, now);
+
+        long cursor = Math.max(toMillis(from), toMillis(now));
+        long limit = toMillis(to);
+        List<AvailabilitySlotDto> slots = new ArrayList<>();
+        for (int i = busy.firstEndingAfter(cursor); i < busy.size() && busy.starts[i] < limit; i++) {
+            if (busy.starts[i] > cursor) {
+                slots.add(new AvailabilitySlotDto(toDateTime(cursor), toDateTime(busy.starts[i])));
+            }
+            cursor = Math.max(cursor, busy.ends[i]);
+        }
+        if (cursor < limit) {
+            slots.add(new AvailabilitySlotDto(toDateTime(cursor), toDateTime(limit)));
+        }
+
+        return slots;
+    }
+
+    public void invalidate(Long itemId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    calendars.synchronous().invalidate(itemId);
+                }
+            });
+        } else {
+            calendars.synchronous().invalidate(itemId);
+        }
+    }
+
+    private BusyIntervals getBusyIntervals(Long itemId, LocalDateTime now) {
+        CompletableFuture<BusyIntervals> loading = new CompletableFuture<>();
+        CompletableFuture<BusyIntervals> cached = calendars.asMap().putIfAbsent(itemId, loading);
+        if (cached != null) {
+            try {
+                return cached.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        try {
+            BusyIntervals busy = load(itemId, now);
+            loading.complete(busy);
+            return busy;
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private BusyIntervals load(Long itemId, LocalDateTime now) {
+        List<Booking> bookings = bookingRepository.findAllByItemIdAndStatusInAndEndAfterOrderByStart(itemId,
+                BUSY_STATUSES, now);
+
+        long[] starts = new long[bookings.size()];
+        long[] ends = new long[bookings.size()];
+        int size = 0;
+        for (Booking booking : bookings) {
+            long start = toMillis(booking.getStart());
+            long end = toMillisCeil(booking.getEnd());
+            if (size > 0 && start <= ends[size - 1]) {
+                ends[size - 1] = Math.max(ends[size - 1], end);
+            } else {
+                starts[size] = start;
+                ends[size] = end;
+                size++;
+            }
+        }
+
+        return new BusyIntervals(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size));
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC)
+                       .toEpochMilli();
+    }
+
+    private static long toMillisCeil(LocalDateTime dateTime) {
+        return toMillis(dateTime) + (dateTime.getNano() % 1_000_000 == 0 ? 0 : 1);
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    private static final class BusyIntervals {
+        private final long[] starts;
+        private final long[] ends;
+
+        private BusyIntervals(long[] starts, long[] ends) {
+            this.starts = starts;
+            this.ends = ends;
+        }
+
+        private int size() {
+            return starts.length;
+        }
+
+        private int firstEndingAfter(long millis) {
+            int position = Arrays.binarySearch(ends, millis);
+            return position >= 0 ? position + 1 : -(position + 1);
+        }
+    }
+
+}
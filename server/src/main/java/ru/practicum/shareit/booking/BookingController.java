@@ -2,9 +2,14 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingExportFormat;
+import ru.practicum.shareit.booking.model.BookingExportScope;
 import ru.practicum.shareit.booking.model.BookingState;
 
 import java.util.List;
@@ -16,6 +21,7 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingExporter bookingExporter;
 
     @PostMapping
     public BookingDto create(
@@ -47,8 +53,12 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") Long bookerId,
             @RequestParam BookingState state,
             @RequestParam Integer from,
-            @RequestParam Integer size
+            @RequestParam Integer size,
+            @RequestParam(required = false) String after
     ) {
+        if (after != null) {
+            return bookingService.getByBookerIdAfter(bookerId, state, after, size);
+        }
         return bookingService.getByBookerId(bookerId, state, from, size);
     }
 
@@ -57,9 +67,24 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
             @RequestParam BookingState state,
             @RequestParam Integer from,
-            @RequestParam Integer size
+            @RequestParam Integer size,
+            @RequestParam(required = false) String after
     ) {
+        if (after != null) {
+            return bookingService.getByOwnerIdAfter(ownerId, state, after, size);
+        }
         return bookingService.getByOwnerId(ownerId, state, from, size);
     }
 
+    @GetMapping("export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam BookingExportScope scope,
+            @RequestParam BookingExportFormat format
+    ) {
+        return ResponseEntity.ok()
+                             .contentType(MediaType.parseMediaType(format.getMediaType()))
+                             .body(output -> bookingExporter.export(userId, scope, format, output));
+    }
+
 }
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.exeption.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@Slf4j
+class BookingCursor {
+    private final LocalDateTime start;
+    private final Long id;
+
+    static BookingCursor parse(String after) {
+        int separator = after.lastIndexOf(',');
+        if (separator < 0) {
+            throw invalid(after);
+        }
+        try {
+            return new BookingCursor(LocalDateTime.parse(after.substring(0, separator)),
+                    Long.parseLong(after.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw invalid(after);
+        }
+    }
+
+    private static BadRequestException invalid(String after) {
+        log.error("Invalid cursor {}", after);
+        return new BadRequestException("Invalid cursor: " + after);
+    }
+
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingExportFormat;
+import ru.practicum.shareit.booking.model.BookingExportScope;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class BookingExporter {
+    static final String CSV_HEADER = "id,start,end,status,item_id,item_name,booker_id,booker_name";
+    private static final int FLUSH_INTERVAL = Integer.parseInt(BookingRepository.EXPORT_FETCH_SIZE);
+
+    private final BookingRepository bookingRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter bookingWriter;
+
+    public BookingExporter(BookingRepository bookingRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.bookingRepository = bookingRepository;
+        this.entityManager = entityManager;
+        this.bookingWriter = objectMapper.writerFor(BookingDto.class);
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Long userId,
+                       BookingExportScope scope,
+                       BookingExportFormat format,
+                       OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == BookingExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<Booking> bookings = scope == BookingExportScope.OWNER
+                ? bookingRepository.streamAllByOwner(userId)
+                : bookingRepository.streamAllByBooker(userId)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                writeBooking(iterator.next(), format, writer);
+                if (++count % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Exported {} bookings of {} {}", count, scope, userId);
+    }
+
+    private void writeBooking(Booking booking, BookingExportFormat format, Writer writer) throws IOException {
+        if (format == BookingExportFormat.CSV) {
+            writer.write(String.join(",",
+                    String.valueOf(booking.getId()),
+                    String.valueOf(booking.getStart()),
+                    String.valueOf(booking.getEnd()),
+                    booking.getStatus().name(),
+                    String.valueOf(booking.getItem().getId()),
+                    escapeCsv(booking.getItem().getName()),
+                    String.valueOf(booking.getBooker().getId()),
+                    escapeCsv(booking.getBooker().getName())));
+        } else {
+            writer.write(bookingWriter.writeValueAsString(BookingMapper.toBookingDto(booking)));
+        }
+        writer.write('\n');
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+}
@@ -1,15 +1,23 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    String EXPORT_FETCH_SIZE = "500";
 
     @Query("SELECT b\n"
             + "FROM Booking b\n"
@@ -27,22 +35,51 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             + "ORDER BY b.start")
     Optional<Booking> findNextBooking(Long itemId, Long ownerId);
 
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END\n"
+            + "FROM Booking b\n"
+            + "WHERE b.item.id = ?1\n"
+            + "  AND b.status = ?2\n"
+            + "  AND b.start < ?4\n"
+            + "  AND b.end > ?3")
+    boolean existsOverlap(Long itemId, BookingStatus status, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT b\n"
+            + "FROM Booking b\n"
+            + "WHERE b.item.id IN ?1\n"
+            + "  AND b.end = (SELECT max(lb.end)\n"
+            + "               FROM Booking lb\n"
+            + "               WHERE lb.item.id = b.item.id\n"
+            + "                 AND lb.end < CURRENT_TIMESTAMP)")
+    List<Booking> findLastBookings(Collection<Long> itemIds);
+
+    @Query("SELECT b\n"
+            + "FROM Booking b\n"
+            + "WHERE b.item.id IN ?1\n"
+            + "  AND b.start = (SELECT min(nb.start)\n"
+            + "                 FROM Booking nb\n"
+            + "                 WHERE nb.item.id = b.item.id\n"
+            + "                   AND nb.start > CURRENT_TIMESTAMP)")
+    List<Booking> findNextBookings(Collection<Long> itemIds);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b\n"
             + "FROM Booking b\n"
             + "WHERE b.booker.id = ?1")
-    Page<Booking> findAllByBooker(Long id, Pageable pageable);
+    Slice<Booking> findAllByBooker(Long id, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b\n"
             + "FROM Booking b\n"
             + "WHERE b.booker.id = ?1\n"
             + "  AND b.start > CURRENT_TIMESTAMP")
-    Page<Booking> findAllByBookerAndFutureState(Long id, Pageable pageable);
+    Slice<Booking> findAllByBookerAndFutureState(Long id, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b\n"
             + "FROM Booking b\n"
             + "WHERE b.booker.id = ?1\n"
             + "  AND b.end < CURRENT_TIMESTAMP")
-    Page<Booking> findAllByBookerAndPastState(Long id, Pageable pageable);
+    Slice<Booking> findAllByBookerAndPastState(Long id, Pageable pageable);
 
     @Query("SELECT b\n"
             + "FROM Booking b\n"
@@ -50,45 +87,202 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             + "  AND b.end < CURRENT_TIMESTAMP")
     Optional<Booking> findByBookerIdAndPastState(Long bookerId);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b\n"
             + "FROM Booking b\n"
             + "WHERE b.booker.id = ?1\n"
             + "  AND b.start < CURRENT_TIMESTAMP\n"
             + "  AND b.end > CURRENT_TIMESTAMP")
-    Page<Booking> findAllByBookerAndCurrentState(Long id, Pageable pageable);
+    Slice<Booking> findAllByBookerAndCurrentState(Long id, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b\n"
             + "FROM Booking b\n"
             + "WHERE b.item.owner.id = ?1")
-    Page<Booking> findAllByOwner(Long ownerId, Pageable pageable);
+    Slice<Booking> findAllByOwner(Long ownerId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b\n"
             + "FROM Booking b\n"
             + "WHERE b.item.owner.id = ?1\n"
             + "  AND b.end < CURRENT_TIMESTAMP")
-    Page<Booking> findAllByOwnerAndPastState(Long ownerId, Pageable pageable);
+    Slice<Booking> findAllByOwnerAndPastState(Long ownerId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b\n"
             + "FROM Booking b\n"
             + "WHERE b.item.owner.id = ?1\n"
             + "  AND b.start > CURRENT_TIMESTAMP")
-    Page<Booking> findAllByOwnerAndFutureState(Long ownerId, Pageable pageable);
+    Slice<Booking> findAllByOwnerAndFutureState(Long ownerId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b\n"
             + "FROM Booking b\n"
             + "WHERE b.item.owner.id = ?1\n"
             + "  AND b.start < CURRENT_TIMESTAMP\n"
             + "  AND b.end > CURRENT_TIMESTAMP")
-    Page<Booking> findAllByOwnerAndCurrentState(Long ownerId, Pageable pageable);
+    Slice<Booking> findAllByOwnerAndCurrentState(Long ownerId, Pageable pageable);
 
-    Page<Booking> findAllByBookerIdAndStatus(Long bookerId,
-                                             BookingStatus status,
-                                             Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByBookerIdAndStatus(Long bookerId,
+                                              BookingStatus status,
+                                              Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b\n"
             + "FROM Booking b\n"
             + "WHERE b.item.owner.id = ?1\n"
             + "  AND b.status = ?2")
-    Page<Booking> findAllByOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
+    Slice<Booking> findAllByOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("SELECT b\n"
+            + "FROM Booking b\n"
+            + "WHERE b.booker.id = ?1\n"
+            + "  AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))\n"
+            + "ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findAllByBookerAfter(Long bookerId,
+                                        LocalDateTime cursorStart,
+                                        Long cursorId,
+                                        Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("SELECT b\n"
+            + "FROM Booking b\n"
+            + "WHERE b.booker.id = ?1\n"
+            + "  AND b.end < CURRENT_TIMESTAMP\n"
+            + "  AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))\n"
+            + "ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findAllByBookerAndPastStateAfter(Long bookerId,
+                                                    LocalDateTime cursorStart,
+                                                    Long cursorId,
+                                                    Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("SELECT b\n"
+            + "FROM Booking b\n"
+            + "WHERE b.booker.id = ?1\n"
+            + "  AND b.start > CURRENT_TIMESTAMP\n"
+            + "  AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))\n"
+            + "ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findAllByBookerAndFutureStateAfter(Long bookerId,
+                                                      LocalDateTime cursorStart,
+                                                      Long cursorId,
+                                                      Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("SELECT b\n"
+            + "FROM Booking b\n"
+            + "WHERE b.booker.id = ?1\n"
+            + "  AND b.start < CURRENT_TIMESTAMP\n"
+            + "  AND b.end > CURRENT_TIMESTAMP\n"
+            + "  AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))\n"
+            + "ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findAllByBookerAndCurrentStateAfter(Long bookerId,
+                                                       LocalDateTime cursorStart,
+                                                       Long cursorId,
+                                                       Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("SELECT b\n"
+            + "FROM Booking b\n"
+            + "WHERE b.booker.id = ?1\n"
+            + "  AND b.status = ?2\n"
+            + "  AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4))\n"
+            + "ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findAllByBookerIdAndStatusAfter(Long bookerId,
+                                                   BookingStatus status,
+                                                   LocalDateTime cursorStart,
+                                                   Long cursorId,
+                                                   Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("SELECT b\n"
+            + "FROM Booking b\n"
+            + "WHERE b.item.owner.id = ?1\n"
+            + "  AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))\n"
+            + "ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findAllByOwnerAfter(Long ownerId,
+                                       LocalDateTime cursorStart,
+                                       Long cursorId,
+                                       Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("SELECT b\n"
+            + "FROM Booking b\n"
+            + "WHERE b.item.owner.id = ?1\n"
+            + "  AND b.end < CURRENT_TIMESTAMP\n"
+            + "  AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))\n"
+            + "ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findAllByOwnerAndPastStateAfter(Long ownerId,
+                                                   LocalDateTime cursorStart,
+                                                   Long cursorId,
+                                                   Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("SELECT b\n"
+            + "FROM Booking b\n"
+            + "WHERE b.item.owner.id = ?1\n"
+            + "  AND b.start > CURRENT_TIMESTAMP\n"
+            + "  AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))\n"
+            + "ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findAllByOwnerAndFutureStateAfter(Long ownerId,
+                                                     LocalDateTime cursorStart,
+                                                     Long cursorId,
+                                                     Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("SELECT b\n"
+            + "FROM Booking b\n"
+            + "WHERE b.item.owner.id = ?1\n"
+            + "  AND b.start < CURRENT_TIMESTAMP\n"
+            + "  AND b.end > CURRENT_TIMESTAMP\n"
+            + "  AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))\n"
+            + "ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findAllByOwnerAndCurrentStateAfter(Long ownerId,
+                                                      LocalDateTime cursorStart,
+                                                      Long cursorId,
+                                                      Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("SELECT b\n"
+            + "FROM Booking b\n"
+            + "WHERE b.item.owner.id = ?1\n"
+            + "  AND b.status = ?2\n"
+            + "  AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4))\n"
+            + "ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findAllByOwnerIdAndStatusAfter(Long ownerId,
+                                                  BookingStatus status,
+                                                  LocalDateTime cursorStart,
+                                                  Long cursorId,
+                                                  Pageable pageable);
+
+    List<Booking> findAllByItemIdAndStatusInAndEndAfterOrderByStart(Long itemId,
+                                                                   Collection<BookingStatus> statuses,
+                                                                   LocalDateTime end);
+
+    @QueryHints({
+            @QueryHint(name = org.hibernate.annotations.QueryHints.FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true")
+    })
+    @Query("SELECT b\n"
+            + "FROM Booking b\n"
+            + "JOIN FETCH b.item\n"
+            + "JOIN FETCH b.booker bk\n"
+            + "WHERE bk.id = ?1\n"
+            + "ORDER BY b.start DESC, b.id DESC")
+    Stream<Booking> streamAllByBooker(Long bookerId);
+
+    @QueryHints({
+            @QueryHint(name = org.hibernate.annotations.QueryHints.FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true")
+    })
+    @Query("SELECT b\n"
+            + "FROM Booking b\n"
+            + "JOIN FETCH b.item i\n"
+            + "JOIN FETCH b.booker\n"
+            + "WHERE i.owner.id = ?1\n"
+            + "ORDER BY b.start DESC, b.id DESC")
+    Stream<Booking> streamAllByOwner(Long ownerId);
 
 }
@@ -24,4 +24,14 @@ public interface BookingService {
                                             Integer from,
                                             Integer size);
 
+    List<BookingDto> getByBookerIdAfter(Long bookerId,
+                                        BookingState bookingState,
+                                        String after,
+                                        Integer size);
+
+    List<BookingDto> getByOwnerIdAfter(Long ownerId,
+                                       BookingState bookingState,
+                                       String after,
+                                       Integer size);
+
 }
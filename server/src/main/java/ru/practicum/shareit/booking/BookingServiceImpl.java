@@ -2,22 +2,29 @@ package ru.practicum.shareit.booking;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exeption.BadRequestException;
+import ru.practicum.shareit.exeption.ConflictException;
 import ru.practicum.shareit.exeption.NotFoundException;
+import ru.practicum.shareit.item.ItemChangedEvent;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,11 +33,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BookingServiceImpl implements BookingService {
 
+    private static final Sort PAGE_SORT = Sort.by(Sort.Direction.DESC, "start", "id");
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingCalendar bookingCalendar;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(readOnly = true)
     public BookingDto getById(Long userId, Long bookingId) {
         Booking booking = findBookingById(bookingId);
 
@@ -50,6 +62,7 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional
     public BookingDto create(Long bookerId, BookingRequestDto bookingRequestDto) {
         User booker = userRepository.findById(bookerId)
                                     .orElseThrow(() -> {
@@ -78,13 +91,23 @@ public class BookingServiceImpl implements BookingService {
                 .equals(false)) {
             throw new BadRequestException("The item is not available!");
         }
+
+        if (bookingRepository.existsOverlap(itemId, BookingStatus.APPROVED,
+                bookingRequestDto.getStart(), bookingRequestDto.getEnd())) {
+            log.error("Booking of item {} overlaps an approved booking", itemId);
+            throw new ConflictException("The item is already booked for these dates");
+        }
         Booking booking = BookingMapper.toBooking(bookingRequestDto, booker, item,
                 BookingStatus.WAITING);
+        Booking saved = bookingRepository.save(booking);
+        bookingCalendar.invalidate(itemId);
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId));
 
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        return BookingMapper.toBookingDto(saved);
     }
 
     @Override
+    @Transactional
     public BookingDto approve(Long ownerId, Long bookingId, boolean approved) {
         Booking booking = findBookingById(bookingId);
         if (booking.getStatus()
@@ -103,23 +126,44 @@ public class BookingServiceImpl implements BookingService {
         }
 
         if (approved) {
+            Long itemId = booking.getItem()
+                                 .getId();
+            itemRepository.findByIdForUpdate(itemId);
+            if (bookingRepository.existsOverlap(itemId, BookingStatus.APPROVED,
+                    booking.getStart(), booking.getEnd())) {
+                log.error("Booking with id {} overlaps an approved booking of item {}", bookingId, itemId);
+                throw new ConflictException("The item is already booked for these dates");
+            }
             booking.setStatus(BookingStatus.APPROVED);
         } else {
             booking.setStatus(BookingStatus.REJECTED);
         }
+        Booking saved = bookingRepository.save(booking);
+        try {
+            bookingRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            log.error("Booking with id {} violates the approved period constraint: {}", bookingId,
+                    e.getMostSpecificCause()
+                     .getMessage());
+            throw new ConflictException("The item is already booked for these dates");
+        }
+        bookingCalendar.invalidate(booking.getItem()
+                                          .getId());
+        eventPublisher.publishEvent(new ItemChangedEvent(booking.getItem()
+                                                                .getId()));
 
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        return BookingMapper.toBookingDto(saved);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingDto> getByBookerId(Long bookerId, BookingState bookingState,
                                           Integer from, Integer size) {
 
         List<Booking> bookings = List.of();
 
         int page = from < size ? 0 : from / size;
-        Pageable pageable = PageRequest.of(page, size, Sort.by("start")
-                                                           .descending());
+        Pageable pageable = PageRequest.of(page, size, PAGE_SORT);
 
         switch (bookingState) {
             case ALL:
@@ -162,6 +206,7 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingDto> getByOwnerId(Long ownerId,
                                          BookingState bookingState,
                                          Integer from,
@@ -169,8 +214,7 @@ public class BookingServiceImpl implements BookingService {
         List<Booking> bookings = List.of();
 
         int page = from < size ? 0 : from / size;
-        Pageable pageable = PageRequest.of(page, size, Sort.by("start")
-                                                           .descending());
+        Pageable pageable = PageRequest.of(page, size, PAGE_SORT);
 
         switch (bookingState) {
             case ALL:
@@ -210,6 +254,72 @@ public class BookingServiceImpl implements BookingService {
                        .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getByBookerIdAfter(Long bookerId,
+                                               BookingState bookingState,
+                                               String after,
+                                               Integer size) {
+        return findAfter(false, bookerId, bookingState, BookingCursor.parse(after), size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getByOwnerIdAfter(Long ownerId,
+                                              BookingState bookingState,
+                                              String after,
+                                              Integer size) {
+        return findAfter(true, ownerId, bookingState, BookingCursor.parse(after), size);
+    }
+
+    private List<BookingDto> findAfter(boolean owner,
+                                       Long userId,
+                                       BookingState bookingState,
+                                       BookingCursor cursor,
+                                       Integer size) {
+        LocalDateTime start = cursor.getStart();
+        Long id = cursor.getId();
+        Pageable pageable = PageRequest.of(0, size);
+
+        Slice<Booking> bookings;
+
+        switch (bookingState) {
+            case PAST:
+                bookings = owner
+                        ? bookingRepository.findAllByOwnerAndPastStateAfter(userId, start, id, pageable)
+                        : bookingRepository.findAllByBookerAndPastStateAfter(userId, start, id, pageable);
+                break;
+            case FUTURE:
+                bookings = owner
+                        ? bookingRepository.findAllByOwnerAndFutureStateAfter(userId, start, id, pageable)
+                        : bookingRepository.findAllByBookerAndFutureStateAfter(userId, start, id, pageable);
+                break;
+            case CURRENT:
+                bookings = owner
+                        ? bookingRepository.findAllByOwnerAndCurrentStateAfter(userId, start, id, pageable)
+                        : bookingRepository.findAllByBookerAndCurrentStateAfter(userId, start, id, pageable);
+                break;
+            case WAITING:
+            case REJECTED:
+                BookingStatus status = bookingState == BookingState.WAITING
+                        ? BookingStatus.WAITING
+                        : BookingStatus.REJECTED;
+                bookings = owner
+                        ? bookingRepository.findAllByOwnerIdAndStatusAfter(userId, status, start, id, pageable)
+                        : bookingRepository.findAllByBookerIdAndStatusAfter(userId, status, start, id, pageable);
+                break;
+            case ALL:
+            default:
+                bookings = owner
+                        ? bookingRepository.findAllByOwnerAfter(userId, start, id, pageable)
+                        : bookingRepository.findAllByBookerAfter(userId, start, id, pageable);
+        }
+
+        return bookings.stream()
+                       .map(BookingMapper::toBookingDto)
+                       .collect(Collectors.toList());
+    }
+
     private Booking findBookingById(Long bookingId) {
         return bookingRepository.findById(bookingId)
                                 .orElseThrow(() -> {
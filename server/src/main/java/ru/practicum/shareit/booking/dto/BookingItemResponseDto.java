@@ -3,9 +3,11 @@ package ru.practicum.shareit.booking.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
+import java.io.Serializable;
+
 @Data
 @AllArgsConstructor
-public class BookingItemResponseDto {
+public class BookingItemResponseDto implements Serializable {
     private final Long id;
     private final Long bookerId;
 
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+    public static final String ITEM_REQUESTS = "item-requests";
+
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.user.UserChangedEvent;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheEvictionListener {
+    private final CacheManager cacheManager;
+    private final CacheGenerations cacheGenerations;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(CacheConfig.USERS, event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.getItemId() != null) {
+            evict(CacheConfig.ITEMS, event.getItemId());
+        }
+        if (event.getRequestId() != null) {
+            evict(CacheConfig.ITEM_REQUESTS, event.getRequestId());
+        }
+    }
+
+    private void evict(String cacheName, Long key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            log.debug("Evicting {} from cache {}", key, cacheName);
+            cacheGenerations.advance(cacheName, key);
+            cache.evict(key);
+        }
+    }
+
+}
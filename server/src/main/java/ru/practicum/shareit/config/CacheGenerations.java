@@ -0,0 +1,37 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+public class CacheGenerations {
+    private static final int STRIPES = 1024;
+
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    public long current(String cacheName, Object key) {
+        return generations.get(stripe(cacheName, key));
+    }
+
+    public void advance(String cacheName, Object key) {
+        generations.incrementAndGet(stripe(cacheName, key));
+    }
+
+    public void put(Cache cache, Object key, Object value, long generation) {
+        if (ReadWriteRoutingDataSource.isCurrentTransactionOnReplica()) {
+            return;
+        }
+        cache.put(key, value);
+        if (current(cache.getName(), key) != generation) {
+            cache.evict(key);
+        }
+    }
+
+    private static int stripe(String cacheName, Object key) {
+        return Math.floorMod(Objects.hash(cacheName, key), STRIPES);
+    }
+
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty("shareit.datasource.replica.jdbc-url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return createPool(properties, ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    @Bean
+    @ConfigurationProperties("shareit.datasource.replica")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        return createPool(properties, ReadWriteRoutingDataSource.REPLICA);
+    }
+
+    @Bean
+    public ReadYourWritesGuard readYourWritesGuard(
+            @Value("${shareit.datasource.replica-lag-tolerance:5s}") Duration replicaLagTolerance
+    ) {
+        return new ReadYourWritesGuard(replicaLagTolerance);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReadYourWritesGuard readYourWritesGuard) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primary, replica,
+                readYourWritesGuard);
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public JpaTransactionManager transactionManager(
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers
+    ) {
+        JpaTransactionManager transactionManager = new ReadWriteRoutingTransactionManager();
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+
+    private static HikariDataSource createPool(DataSourceProperties properties, String poolName) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                                                .type(HikariDataSource.class)
+                                                .build();
+        dataSource.setPoolName(poolName);
+        return dataSource;
+    }
+
+}
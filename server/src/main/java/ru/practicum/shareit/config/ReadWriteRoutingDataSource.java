@@ -0,0 +1,82 @@
+package ru.practicum.shareit.config;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private final ReadYourWritesGuard readYourWritesGuard;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesGuard readYourWritesGuard) {
+        this.readYourWritesGuard = readYourWritesGuard;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    public static boolean isCurrentTransactionOnReplica() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getSynchronizations()
+                                                    .stream()
+                                                    .anyMatch(ReplicaRead.class::isInstance);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWritesGuard.recordWrite();
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+
+        if (ReadWriteRoutingTransactionManager.isPinnedToPrimary() || readYourWritesGuard.hasRecentWrite()) {
+            return PRIMARY;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive() && !isCurrentTransactionOnReplica()) {
+            TransactionSynchronizationManager.registerSynchronization(new ReplicaRead());
+            stopSecondLevelCachePuts();
+        }
+        return REPLICA;
+    }
+
+    private static void stopSecondLevelCachePuts() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (!(resource instanceof EntityManagerHolder)) {
+                continue;
+            }
+            Session session = ((EntityManagerHolder) resource).getEntityManager()
+                                                              .unwrap(Session.class);
+            CacheMode cacheMode = session.getCacheMode();
+            if (cacheMode == CacheMode.GET) {
+                continue;
+            }
+            session.setCacheMode(CacheMode.GET);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (session.isOpen()) {
+                        session.setCacheMode(cacheMode);
+                    }
+                }
+            });
+        }
+    }
+
+    private static final class ReplicaRead implements TransactionSynchronization {
+    }
+
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReadWriteRoutingTransactionManager extends JpaTransactionManager {
+
+    static boolean isPinnedToPrimary() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getSynchronizations()
+                                                    .stream()
+                                                    .anyMatch(PrimaryPin.class::isInstance);
+    }
+
+    @Override
+    protected void prepareSynchronization(DefaultTransactionStatus status, TransactionDefinition definition) {
+        super.prepareSynchronization(status, definition);
+        if (status.isNewSynchronization()
+                && definition instanceof TransactionAttribute
+                && ((TransactionAttribute) definition).getLabels()
+                                                      .contains(ReadWriteRoutingDataSource.PRIMARY)) {
+            TransactionSynchronizationManager.registerSynchronization(new PrimaryPin());
+        }
+    }
+
+    private static final class PrimaryPin implements TransactionSynchronization {
+    }
+
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+public class ReadYourWritesGuard {
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final Long ANONYMOUS = -1L;
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesGuard(Duration replicaLagTolerance) {
+        this.recentWriters = Caffeine.newBuilder()
+                                     .expireAfterWrite(replicaLagTolerance)
+                                     .build();
+    }
+
+    public void recordWrite() {
+        recentWriters.put(currentWriter(), Boolean.TRUE);
+    }
+
+    public boolean hasRecentWrite() {
+        return recentWriters.getIfPresent(currentWriter()) != null;
+    }
+
+    private static Long currentWriter() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return ANONYMOUS;
+        }
+
+        String header = ((ServletRequestAttributes) attributes).getRequest()
+                                                               .getHeader(USER_ID_HEADER);
+        try {
+            return header == null ? ANONYMOUS : Long.valueOf(header);
+        } catch (NumberFormatException e) {
+            return ANONYMOUS;
+        }
+    }
+
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.exeption;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+
+}
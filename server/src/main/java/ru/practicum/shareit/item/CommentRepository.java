@@ -1,12 +1,23 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.item.model.Comment;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
     List<Comment> findByItemId(Long itemId);
 
+    @Query("SELECT c\n"
+            + "FROM Comment c\n"
+            + "JOIN FETCH c.author\n"
+            + "WHERE c.item.id IN ?1")
+    List<Comment> findByItemIdIn(Collection<Long> itemIds);
+
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item;
+
+import lombok.Data;
+
+@Data
+public class ItemChangedEvent {
+    private final Long itemId;
+    private final Long requestId;
+
+    public ItemChangedEvent(Long itemId) {
+        this(itemId, null);
+    }
+
+    public ItemChangedEvent(Long itemId, Long requestId) {
+        this.itemId = itemId;
+        this.requestId = requestId;
+    }
+
+}
@@ -1,11 +1,14 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -39,6 +42,14 @@ public class ItemController {
         return itemService.create(ownerId, itemDto);
     }
 
+    @PostMapping("batch")
+    public List<ItemDto> createAll(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestBody List<ItemDto> itemDtos
+    ) {
+        return itemService.createAll(ownerId, itemDtos);
+    }
+
     @PatchMapping("{id}")
     public ItemDto update(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
@@ -59,6 +70,15 @@ public class ItemController {
         return itemService.searchItem(text, from, size);
     }
 
+    @GetMapping("{itemId}/availability")
+    public List<AvailabilitySlotDto> getAvailability(
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return itemService.getAvailability(itemId, from, to);
+    }
+
     @PostMapping("{itemId}/comment")
     public CommentDto createComment(
             @RequestHeader("X-Sharer-User-Id") Long bookerId,
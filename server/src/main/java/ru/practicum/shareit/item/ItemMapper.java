@@ -3,6 +3,7 @@ package ru.practicum.shareit.item;
 import lombok.AllArgsConstructor;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -20,6 +21,11 @@ public class ItemMapper {
         return new ItemDto(id, name, description, available, requestId);
     }
 
+    public static ItemDto toInputDto(ItemView item) {
+        return new ItemDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getRequestId());
+    }
+
     public static ItemResponseDto toOutputDto(Item item) {
         Long requestId = item.getRequest() == null ? null : item.getRequest().getId();
 
@@ -1,30 +1,63 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    Page<Item> findAllByOwnerIdOrderById(Long ownerId, Pageable pageable);
+    Slice<Item> findAllByOwnerIdOrderById(Long ownerId, Pageable pageable);
 
-    @Query("SELECT i\n"
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available,\n"
+            + "       r.id AS requestId\n"
             + "FROM Item i\n"
+            + "LEFT JOIN i.request r\n"
             + "WHERE i.available IS TRUE\n"
             + "  AND (upper(i.name) like upper(concat('%', ?1, '%'))\n"
             + "       OR upper(i.description) like upper(concat('%', ?1, '%')))")
-    List<Item> searchItem(String text, Pageable pageable);
+    List<ItemView> searchItem(String text, Pageable pageable);
+
+    @Query(value = "SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available,\n"
+            + "       i.request_id AS \"requestId\"\n"
+            + "FROM items i\n"
+            + "WHERE i.available IS TRUE\n"
+            + "  AND (i.search_vector @@ plainto_tsquery('simple', :text)\n"
+            + "       OR i.name ILIKE concat('%', :text, '%')\n"
+            + "       OR i.description ILIKE concat('%', :text, '%'))\n"
+            + "ORDER BY ts_rank(i.search_vector, plainto_tsquery('simple', :text)) DESC, i.id",
+            nativeQuery = true)
+    List<ItemView> searchItemFullText(@Param("text") String text, Pageable pageable);
+
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available,\n"
+            + "       r.id AS requestId\n"
+            + "FROM Item i\n"
+            + "LEFT JOIN i.request r\n"
+            + "WHERE i.id IN ?1")
+    List<ItemView> findViewsByIdIn(Collection<Long> ids);
 
     Optional<Item> findByIdAndOwnerId(Long itemId, Long ownerId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long itemId);
+
+    List<Item> findAllByAvailableIsTrueAndIdGreaterThanOrderById(Long id, Pageable pageable);
+
     @Query("SELECT i\n"
             + "FROM Item i\n"
             + "WHERE i.request.id = ?1")
     List<Item> findAllItemsByRequestId(Long requestId);
 
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
 }
@@ -0,0 +1,245 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@Slf4j
+public class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, String> documents = new HashMap<>();
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.search.index.enabled:false}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        write(() -> {
+            ready = false;
+            rebuilding = true;
+            postings.clear();
+            documents.clear();
+            changedDuringRebuild.clear();
+        });
+
+        long lastId = 0;
+        List<Item> chunk;
+        do {
+            chunk = itemRepository.findAllByAvailableIsTrueAndIdGreaterThanOrderById(
+                    lastId, PageRequest.of(0, LOAD_CHUNK_SIZE)
+            );
+            List<Item> loaded = chunk;
+            write(() -> loaded.stream()
+                              .filter(i -> !changedDuringRebuild.contains(i.getId()))
+                              .forEach(this::add));
+            if (!chunk.isEmpty()) {
+                lastId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == LOAD_CHUNK_SIZE);
+
+        write(() -> {
+            rebuilding = false;
+            changedDuringRebuild.clear();
+            ready = true;
+        });
+        log.info("Item search index is built with {} items", documents.size());
+    }
+
+    public boolean supports(String text) {
+        return ready && text.strip().length() >= GRAM_LENGTH;
+    }
+
+    public void index(Item item) {
+        if (!enabled) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(item);
+                }
+            });
+        } else {
+            apply(item);
+        }
+    }
+
+    private void apply(Item item) {
+        write(() -> {
+            removeDocument(item.getId());
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                add(item);
+            }
+            if (rebuilding) {
+                changedDuringRebuild.add(item.getId());
+            }
+        });
+    }
+
+    public List<Long> search(String text, int from, int size) {
+        String query = text.strip().toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>();
+            for (String gram : grams(query)) {
+                PostingList list = postings.get(gram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            long[] candidates = lists.get(0).toArray();
+            int count = candidates.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = lists.get(i).retainAll(candidates, count);
+            }
+
+            List<Long> ids = new ArrayList<>(Math.min(size, count));
+            int skipped = 0;
+            for (int i = 0; i < count && ids.size() < size; i++) {
+                long id = candidates[i];
+                if (!documents.get(id).contains(query)) {
+                    continue;
+                }
+                if (skipped < from) {
+                    skipped++;
+                } else {
+                    ids.add(id);
+                }
+            }
+
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Item item) {
+        String document = item.getName().toLowerCase(Locale.ROOT) + "\n"
+                + item.getDescription().toLowerCase(Locale.ROOT);
+        documents.put(item.getId(), document);
+        for (String gram : grams(document)) {
+            postings.computeIfAbsent(gram, g -> new PostingList())
+                    .add(item.getId());
+        }
+    }
+
+    private void removeDocument(Long itemId) {
+        String document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        for (String gram : grams(document)) {
+            PostingList list = postings.get(gram);
+            list.remove(itemId);
+            if (list.size() == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    static final class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(long id) {
+            int index = size == 0 || ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        int retainAll(long[] candidates, int count) {
+            int retained = 0;
+            int i = 0;
+            int j = 0;
+            while (i < count && j < size) {
+                if (candidates[i] < ids[j]) {
+                    i++;
+                } else if (candidates[i] > ids[j]) {
+                    j++;
+                } else {
+                    candidates[retained++] = candidates[i];
+                    i++;
+                    j++;
+                }
+            }
+            return retained;
+        }
+    }
+
+}
@@ -1,9 +1,11 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -14,10 +16,14 @@ public interface ItemService {
 
     ItemDto create(Long ownerId, ItemDto itemDto);
 
+    List<ItemDto> createAll(Long ownerId, List<ItemDto> itemDtos);
+
     ItemDto update(Long ownerId, Long itemId, ItemDto itemDto);
 
     List<ItemDto> searchItem(String text, Integer from, Integer size);
 
     CommentDto createComment(Long bookerId, Long itemId, CommentDto commentDto);
 
+    List<AvailabilitySlotDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
 }
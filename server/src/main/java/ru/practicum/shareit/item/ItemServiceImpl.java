@@ -1,12 +1,21 @@
 package ru.practicum.shareit.item;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingCalendar;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingItemResponseDto;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.config.CacheGenerations;
+import ru.practicum.shareit.config.ReadWriteRoutingDataSource;
 import ru.practicum.shareit.exeption.BadRequestException;
 import ru.practicum.shareit.exeption.NotFoundException;
 import ru.practicum.shareit.item.dto.*;
@@ -21,11 +30,15 @@ import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Slf4j
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
@@ -33,19 +46,40 @@ public class ItemServiceImpl implements ItemService {
     private final UserService userService;
     private final ItemRequestRepository itemRequestRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final BookingCalendar bookingCalendar;
+    private final CacheManager cacheManager;
+    private final CacheGenerations cacheGenerations;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${shareit.search.full-text:false}")
+    private boolean fullTextSearch;
 
     @Override
+    @Transactional(readOnly = true)
     public ItemResponseDto getItem(Long itemId, Long ownerId) {
-        Item item = itemRepository.findById(itemId)
-                                  .orElseThrow(() -> {
-                                      log.error("Item with id {} not found", itemId);
-                                      return new NotFoundException("Item not found with id: " + itemId);
-                                  });
+        Cache cache = cacheManager.getCache(CacheConfig.ITEMS);
+        long generation = cacheGenerations.current(CacheConfig.ITEMS, itemId);
+        CachedItemDto cachedItem = cache.get(itemId, CachedItemDto.class);
+
+        if (cachedItem == null) {
+            Item item = itemRepository.findById(itemId)
+                                      .orElseThrow(() -> {
+                                          log.error("Item with id {} not found", itemId);
+                                          return new NotFoundException("Item not found with id: " + itemId);
+                                      });
+            Long itemOwnerId = item.getOwner()
+                                   .getId();
 
-        return getItemOutputDto(item, ownerId);
+            cachedItem = new CachedItemDto(itemOwnerId, getItemOutputDto(item, itemOwnerId));
+            cacheGenerations.put(cache, itemId, cachedItem, generation);
+        }
+
+        return toViewerDto(cachedItem, ownerId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemResponseDto> getOwnItems(Long ownerId, Integer from, Integer size) {
         int page = from < size ? 0 : from / size;
 
@@ -53,12 +87,32 @@ public class ItemServiceImpl implements ItemService {
                                                  PageRequest.of(page, size))
                                          .toList();
 
+        if (items.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> itemIds = items.stream()
+                                  .map(Item::getId)
+                                  .collect(Collectors.toList());
+
+        Map<Long, Booking> lastBookings = groupByItemId(bookingRepository.findLastBookings(itemIds));
+        Map<Long, Booking> nextBookings = groupByItemId(bookingRepository.findNextBookings(itemIds));
+        Map<Long, List<Comment>> comments = commentRepository.findByItemIdIn(itemIds)
+                                                             .stream()
+                                                             .collect(Collectors.groupingBy(
+                                                                     c -> c.getItem().getId()
+                                                             ));
+
         return items.stream()
-                    .map(i -> getItemOutputDto(i, ownerId))
+                    .map(i -> toItemResponseDto(i,
+                            lastBookings.get(i.getId()),
+                            nextBookings.get(i.getId()),
+                            comments.getOrDefault(i.getId(), List.of())))
                     .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public ItemDto create(Long ownerId, ItemDto itemDto) {
         UserDto ownerDto = userService.getUser(ownerId);
         User owner = UserMapper.toUser(ownerDto);
@@ -69,10 +123,46 @@ public class ItemServiceImpl implements ItemService {
 
         itemRequest.ifPresent(item::setRequest);
 
-        return ItemMapper.toInputDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchIndex.index(savedItem);
+        itemRequest.ifPresent(r -> eventPublisher.publishEvent(new ItemChangedEvent(null, r.getId())));
+
+        return ItemMapper.toInputDto(savedItem);
     }
 
     @Override
+    @Transactional
+    public List<ItemDto> createAll(Long ownerId, List<ItemDto> itemDtos) {
+        User owner = UserMapper.toUser(userService.getUser(ownerId));
+        Set<Long> requestIds = itemDtos.stream()
+                                       .map(ItemDto::getRequestId)
+                                       .filter(Objects::nonNull)
+                                       .collect(Collectors.toSet());
+        Map<Long, ItemRequest> itemRequests = itemRequestRepository.findAllById(requestIds)
+                                                                   .stream()
+                                                                   .collect(Collectors.toMap(ItemRequest::getId,
+                                                                           Function.identity()));
+
+        List<Item> items = itemDtos.stream()
+                                   .map(itemDto -> {
+                                       Item item = ItemMapper.toItem(itemDto, owner);
+                                       item.setRequest(itemRequests.get(itemDto.getRequestId()));
+                                       return item;
+                                   })
+                                   .collect(Collectors.toList());
+
+        List<Item> savedItems = itemRepository.saveAll(items);
+        savedItems.forEach(itemSearchIndex::index);
+        itemRequests.keySet()
+                    .forEach(requestId -> eventPublisher.publishEvent(new ItemChangedEvent(null, requestId)));
+
+        return savedItems.stream()
+                         .map(ItemMapper::toInputDto)
+                         .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
     public ItemDto update(Long ownerId, Long itemId, ItemDto itemDto) {
         Item oldItem = itemRepository.findByIdAndOwnerId(itemId, ownerId)
                                      .orElseThrow(() -> {
@@ -98,10 +188,17 @@ public class ItemServiceImpl implements ItemService {
             oldItem.setAvailable(available);
         }
 
-        return ItemMapper.toInputDto(itemRepository.save(oldItem));
+        Item savedItem = itemRepository.save(oldItem);
+        itemSearchIndex.index(savedItem);
+        Long requestId = savedItem.getRequest() == null ? null : savedItem.getRequest()
+                                                                          .getId();
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId, requestId));
+
+        return ItemMapper.toInputDto(savedItem);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> searchItem(String text, Integer from, Integer size) {
         int page = from < size ? 0 : from / size;
 
@@ -109,7 +206,14 @@ public class ItemServiceImpl implements ItemService {
             return List.of();
         }
 
-        List<Item> items = itemRepository.searchItem(text, PageRequest.of(page, size));
+        List<ItemView> items;
+        if (itemSearchIndex.supports(text)) {
+            items = findAllByIdInOrder(itemSearchIndex.search(text, page * size, size));
+        } else if (fullTextSearch) {
+            items = itemRepository.searchItemFullText(text, PageRequest.of(page, size));
+        } else {
+            items = itemRepository.searchItem(text, PageRequest.of(page, size));
+        }
 
         return items.stream()
                     .map(ItemMapper::toInputDto)
@@ -117,6 +221,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional
     public CommentDto createComment(Long bookerId, Long itemId, CommentDto commentDto) {
         Booking booking = bookingRepository.findByBookerIdAndPastState(bookerId)
                                            .orElseThrow(() -> {
@@ -132,16 +237,65 @@ public class ItemServiceImpl implements ItemService {
         Comment comment = CommentMapper.toComment(commentDto, booking.getItem(), booking.getBooker());
         comment.setCreated(LocalDateTime.now());
         commentRepository.save(comment);
+        eventPublisher.publishEvent(new ItemChangedEvent(comment.getItem().getId()));
 
         return CommentMapper.toCommentDto(comment);
     }
 
+    @Override
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
+    public List<AvailabilitySlotDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            log.error("Availability period start {} is not before end {}", from, to);
+            throw new BadRequestException("Availability period start must be before end");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            log.error("Item with id {} not found", itemId);
+            throw new NotFoundException("Item not found with id: " + itemId);
+        }
+
+        return bookingCalendar.getFreeSlots(itemId, from, to);
+    }
+
+    private List<ItemView> findAllByIdInOrder(List<Long> ids) {
+        Map<Long, ItemView> items = itemRepository.findViewsByIdIn(ids)
+                                                  .stream()
+                                                  .collect(Collectors.toMap(ItemView::getId, Function.identity()));
+
+        return ids.stream()
+                  .map(items::get)
+                  .filter(Objects::nonNull)
+                  .collect(Collectors.toList());
+    }
+
     private ItemResponseDto getItemOutputDto(Item item, Long ownerId) {
         Booking lastBooking = bookingRepository.findLastBooking(item.getId(), ownerId)
                                                .orElse(null);
         Booking nextBooking = bookingRepository.findNextBooking(item.getId(), ownerId)
                                                .orElse(null);
+        List<Comment> comments = commentRepository.findByItemId(item.getId());
+
+        return toItemResponseDto(item, lastBooking, nextBooking, comments);
+    }
 
+    private ItemResponseDto toViewerDto(CachedItemDto cachedItem, Long userId) {
+        ItemResponseDto ownerView = cachedItem.getOwnerView();
+        boolean owner = cachedItem.getOwnerId().equals(userId);
+
+        return new ItemResponseDto(ownerView.getId(),
+                ownerView.getName(),
+                ownerView.getDescription(),
+                ownerView.getAvailable(),
+                owner ? ownerView.getLastBooking() : null,
+                owner ? ownerView.getNextBooking() : null,
+                ownerView.getRequestId(),
+                ownerView.getComments());
+    }
+
+    private ItemResponseDto toItemResponseDto(Item item,
+                                              Booking lastBooking,
+                                              Booking nextBooking,
+                                              List<Comment> comments) {
         ItemResponseDto itemResponseDto = ItemMapper.toOutputDto(item);
 
         BookingItemResponseDto lastBookingItemResponseDto;
@@ -160,7 +314,6 @@ public class ItemServiceImpl implements ItemService {
             itemResponseDto.setNextBooking(nextBookingItemResponseDto);
         }
 
-        List<Comment> comments = commentRepository.findByItemId(item.getId());
         List<CommentDto> commentsDto = comments.stream()
                                                .map(CommentMapper::toCommentDto)
                                                .collect(Collectors.toList());
@@ -169,4 +322,13 @@ public class ItemServiceImpl implements ItemService {
         return itemResponseDto;
     }
 
+    private Map<Long, Booking> groupByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                       .collect(Collectors.toMap(
+                               b -> b.getItem().getId(),
+                               Function.identity(),
+                               (first, second) -> first.getId() < second.getId() ? first : second
+                       ));
+    }
+
 }
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+@Data
+public class CachedItemDto implements Serializable {
+    private final Long ownerId;
+    private final ItemResponseDto ownerView;
+
+}
@@ -5,12 +5,13 @@ import lombok.Builder;
 import lombok.Data;
 import ru.practicum.shareit.booking.dto.BookingItemResponseDto;
 
+import java.io.Serializable;
 import java.util.List;
 
 @Data
 @AllArgsConstructor
 @Builder
-public class ItemResponseDto {
+public class ItemResponseDto implements Serializable {
     private final Long id;
     private final String name;
     private final String description;
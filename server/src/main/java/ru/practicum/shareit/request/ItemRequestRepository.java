@@ -1,7 +1,7 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -15,6 +15,6 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
     @Query("SELECT i\n"
             + "FROM ItemRequest i\n"
             + "WHERE i.requester.id <> ?1")
-    Page<ItemRequest> findAllWithoutUserRequests(Long userId, Pageable pageable);
+    Slice<ItemRequest> findAllWithoutUserRequests(Long userId, Pageable pageable);
 
 }
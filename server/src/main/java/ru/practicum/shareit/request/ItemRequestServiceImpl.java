@@ -2,10 +2,16 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.config.CacheGenerations;
+import ru.practicum.shareit.config.ReadWriteRoutingDataSource;
 import ru.practicum.shareit.exeption.NotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
@@ -19,6 +25,7 @@ import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,11 +35,21 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserService userService;
     private final ItemRepository itemRepository;
+    private final CacheManager cacheManager;
+    private final CacheGenerations cacheGenerations;
 
     @Override
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
     public ItemRequestDto getById(Long requesterId, Long requestId) {
         userService.getUser(requesterId);
 
+        Cache cache = cacheManager.getCache(CacheConfig.ITEM_REQUESTS);
+        long generation = cacheGenerations.current(CacheConfig.ITEM_REQUESTS, requestId);
+        ItemRequestDto cachedRequest = cache.get(requestId, ItemRequestDto.class);
+        if (cachedRequest != null) {
+            return cachedRequest;
+        }
+
         ItemRequest itemRequest =
                 itemRequestRepository.findById(requestId)
                                      .orElseThrow(() -> {
@@ -42,10 +59,14 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                                          );
                                      });
 
-        return ItemRequestMapper.toDto(itemRequest, getItemsByRequestId(requestId));
+        ItemRequestDto itemRequestDto = ItemRequestMapper.toDto(itemRequest, getItemsByRequestId(requestId));
+        cacheGenerations.put(cache, requestId, itemRequestDto, generation);
+
+        return itemRequestDto;
     }
 
     @Override
+    @Transactional
     public ItemRequestDto create(Long requesterId, ItemRequestDto itemRequestDto) {
         itemRequestDto.setCreated(LocalDateTime.now());
         User requester = UserMapper.toUser(userService.getUser(requesterId));
@@ -58,30 +79,27 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getOwnRequests(Long requesterId) {
         UserMapper.toUser(userService.getUser(requesterId));
 
-        return itemRequestRepository.findAllByRequesterIdOrderByCreated(requesterId)
-                                    .stream()
-                                    .map(r -> ItemRequestMapper.toDto(r, getItemsByRequestId(r.getId())))
-                                    .collect(Collectors.toList());
+        return toDtoWithItems(itemRequestRepository.findAllByRequesterIdOrderByCreated(requesterId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getAllRequests(Long userId, Integer from, Integer size) {
         UserMapper.toUser(userService.getUser(userId));
 
         int page = from < size ? 0 : from / size;
 
-        Page<ItemRequest> requests =
+        Slice<ItemRequest> requests =
                 itemRequestRepository.findAllWithoutUserRequests(
                         userId,
                         PageRequest.of(page, size, Sort.by("created").descending())
                 );
 
-        return requests.stream()
-                       .map(r -> ItemRequestMapper.toDto(r, getItemsByRequestId(r.getId())))
-                       .collect(Collectors.toList());
+        return toDtoWithItems(requests.toList());
     }
 
     private List<ItemResponseDto> getItemsByRequestId(Long requestId) {
@@ -92,4 +110,26 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                     .collect(Collectors.toList());
     }
 
+    private List<ItemRequestDto> toDtoWithItems(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> requestIds = requests.stream()
+                                        .map(ItemRequest::getId)
+                                        .collect(Collectors.toList());
+
+        Map<Long, List<ItemResponseDto>> items =
+                itemRepository.findAllByRequestIdIn(requestIds)
+                              .stream()
+                              .collect(Collectors.groupingBy(
+                                      i -> i.getRequest().getId(),
+                                      Collectors.mapping(ItemMapper::toOutputDto, Collectors.toList())
+                              ));
+
+        return requests.stream()
+                       .map(r -> ItemRequestMapper.toDto(r, items.getOrDefault(r.getId(), List.of())))
+                       .collect(Collectors.toList());
+    }
+
 }
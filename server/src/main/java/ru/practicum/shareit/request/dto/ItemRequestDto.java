@@ -5,13 +5,14 @@ import lombok.Builder;
 import lombok.Data;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
 @AllArgsConstructor
 @Builder
-public class ItemRequestDto {
+public class ItemRequestDto implements Serializable {
     private final Long id;
     private final String description;
     private LocalDateTime created;
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.user;
+
+import lombok.Data;
+
+@Data
+public class UserChangedEvent {
+    private final Long userId;
+
+}
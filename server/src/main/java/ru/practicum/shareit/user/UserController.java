@@ -1,7 +1,10 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
@@ -11,12 +14,18 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final UserExporter userExporter;
 
     @PostMapping
     public UserDto create(@RequestBody UserDto userDto) {
         return userService.create(userDto);
     }
 
+    @PostMapping("batch")
+    public List<UserDto> createAll(@RequestBody List<UserDto> userDtos) {
+        return userService.createAll(userDtos);
+    }
+
     @GetMapping("{id}")
     public UserDto getUser(@PathVariable Long id) {
         return userService.getUser(id);
@@ -33,8 +42,22 @@ public class UserController {
     }
 
     @GetMapping
-    public List<UserDto> getAll() {
-        return userService.getAll();
+    public List<UserDto> getAll(
+            @RequestParam Integer from,
+            @RequestParam Integer size,
+            @RequestParam(required = false) Long after
+    ) {
+        if (after != null) {
+            return userService.getAllAfter(after, size);
+        }
+        return userService.getAll(from, size);
+    }
+
+    @GetMapping("export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        return ResponseEntity.ok()
+                             .contentType(MediaType.APPLICATION_NDJSON)
+                             .body(userExporter::export);
     }
 
 }
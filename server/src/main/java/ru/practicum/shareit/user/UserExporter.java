@@ -0,0 +1,51 @@
+package ru.practicum.shareit.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class UserExporter {
+    private static final int FLUSH_INTERVAL = Integer.parseInt(UserRepository.EXPORT_FETCH_SIZE);
+
+    private final UserRepository userRepository;
+    private final ObjectWriter userWriter;
+
+    public UserExporter(UserRepository userRepository, ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.userWriter = objectMapper.writerFor(UserDto.class);
+    }
+
+    @Transactional(readOnly = true)
+    public void export(OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+
+        long count = 0;
+        try (Stream<UserDto> users = userRepository.streamAllUserDtos()) {
+            Iterator<UserDto> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                writer.write(userWriter.writeValueAsString(iterator.next()));
+                writer.write('\n');
+                if (++count % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Exported {} users", count);
+    }
+
+}
@@ -1,8 +1,34 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+    String EXPORT_FETCH_SIZE = "500";
+
+    @Query("SELECT new ru.practicum.shareit.user.dto.UserDto(u.id, u.name, u.email)\n"
+            + "FROM User u\n"
+            + "ORDER BY u.id")
+    List<UserDto> findAllUserDtos(Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.user.dto.UserDto(u.id, u.name, u.email)\n"
+            + "FROM User u\n"
+            + "WHERE u.id > ?1\n"
+            + "ORDER BY u.id")
+    List<UserDto> findAllUserDtosAfter(Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new ru.practicum.shareit.user.dto.UserDto(u.id, u.name, u.email)\n"
+            + "FROM User u\n"
+            + "ORDER BY u.id")
+    Stream<UserDto> streamAllUserDtos();
 
 }
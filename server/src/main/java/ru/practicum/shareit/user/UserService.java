@@ -8,12 +8,16 @@ public interface UserService {
 
     UserDto create(UserDto userDto);
 
+    List<UserDto> createAll(List<UserDto> userDtos);
+
     UserDto update(Long id, UserDto userDto);
 
     UserDto getUser(Long id);
 
     void delete(Long id);
 
-    List<UserDto> getAll();
+    List<UserDto> getAll(Integer from, Integer size);
+
+    List<UserDto> getAllAfter(Long afterId, Integer size);
 
 }
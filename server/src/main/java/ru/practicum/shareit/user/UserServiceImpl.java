@@ -2,7 +2,13 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.config.ReadWriteRoutingDataSource;
 import ru.practicum.shareit.exeption.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
@@ -15,6 +21,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserDto create(UserDto userDto) {
@@ -24,6 +31,20 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
+    public List<UserDto> createAll(List<UserDto> userDtos) {
+        List<User> users = userDtos.stream()
+                                   .map(UserMapper::toUser)
+                                   .collect(Collectors.toList());
+
+        return userRepository.saveAll(users)
+                             .stream()
+                             .map(UserMapper::toDto)
+                             .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
     public UserDto update(Long id, UserDto userDto) {
         User newUser = UserMapper.toUser(userDto);
         User oldUser = UserMapper.toUser(getUser(id));
@@ -35,10 +56,16 @@ public class UserServiceImpl implements UserService {
             oldUser.setName(newUser.getName());
         }
 
-        return UserMapper.toDto(userRepository.save(oldUser));
+        UserDto updatedUser = UserMapper.toDto(userRepository.save(oldUser));
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+
+        return updatedUser;
     }
 
     @Override
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id",
+            unless = "T(ru.practicum.shareit.config.ReadWriteRoutingDataSource).isCurrentTransactionOnReplica()")
     public UserDto getUser(Long id) {
         User user = userRepository.findById(id)
                                   .orElseThrow(() -> {
@@ -53,15 +80,21 @@ public class UserServiceImpl implements UserService {
     @Override
     public void delete(Long id) {
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
     }
 
     @Override
-    public List<UserDto> getAll() {
-        List<User> users = userRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<UserDto> getAll(Integer from, Integer size) {
+        int page = from < size ? 0 : from / size;
+
+        return userRepository.findAllUserDtos(PageRequest.of(page, size));
+    }
 
-        return users.stream()
-                    .map(UserMapper::toDto)
-                    .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDto> getAllAfter(Long afterId, Integer size) {
+        return userRepository.findAllUserDtosAfter(afterId, PageRequest.of(0, size));
     }
 
 }
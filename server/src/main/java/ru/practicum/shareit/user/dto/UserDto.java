@@ -4,10 +4,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 
+import java.io.Serializable;
+
 @Data
 @Builder
 @RequiredArgsConstructor
-public class UserDto {
+public class UserDto implements Serializable {
     private final Long id;
     private final String name;
     private final String email;
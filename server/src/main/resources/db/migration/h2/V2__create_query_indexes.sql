@@ -0,0 +1,17 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start_id ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start_id ON bookings (item_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_item_requests_requester_created ON item_requests (requester_id, created);
+
+CREATE INDEX IF NOT EXISTS idx_item_requests_created ON item_requests (created DESC);
@@ -0,0 +1,22 @@
+SET LOCAL lock_timeout = '5s';
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE items
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR;
+
+CREATE OR REPLACE FUNCTION items_search_vector_update() RETURNS TRIGGER AS
+$$
+BEGIN
+    NEW.search_vector := to_tsvector('simple', NEW.name || ' ' || NEW.description);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS items_search_vector_update ON items;
+
+CREATE TRIGGER items_search_vector_update
+    BEFORE INSERT OR UPDATE OF name, description
+    ON items
+    FOR EACH ROW
+EXECUTE FUNCTION items_search_vector_update();
@@ -0,0 +1,5 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_search_vector ON items USING GIN (search_vector);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_name_trgm ON items USING GIN (name gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_description_trgm ON items USING GIN (description gin_trgm_ops);
@@ -0,0 +1,29 @@
+SET LOCAL lock_timeout = '5s';
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO
+$$
+DECLARE
+    overlaps TEXT;
+BEGIN
+    SELECT string_agg(format('%s/%s', a.id, b.id), ', ')
+    INTO overlaps
+    FROM bookings a
+             JOIN bookings b ON b.item_id = a.item_id
+        AND b.id > a.id
+        AND b.status = 'APPROVED'
+        AND tsrange(a.start_date, a.end_date, '[)') && tsrange(b.start_date, b.end_date, '[)')
+    WHERE a.status = 'APPROVED';
+
+    IF overlaps IS NOT NULL THEN
+        RAISE EXCEPTION 'Approved bookings overlap, resolve them before adding ex_bookings_item_approved_period: %',
+            overlaps;
+    END IF;
+END
+$$;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT ex_bookings_item_approved_period
+        EXCLUDE USING GIST (item_id WITH =, tsrange(start_date, end_date, '[)') WITH &&)
+        WHERE (status = 'APPROVED');
@@ -0,0 +1,183 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest
+class SchemaIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Flyway flyway;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 20; i++) {
+            jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('user', ?)", "user" + i + "@mail.ru");
+        }
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+
+        for (int i = 0; i < 50; i++) {
+            jdbcTemplate.update("INSERT INTO item_requests (description, requester_id, created) "
+                    + "VALUES ('description', ?, CURRENT_TIMESTAMP)", userIds.get(i % 20));
+        }
+        for (int i = 0; i < 100; i++) {
+            jdbcTemplate.update("INSERT INTO items (name, description, available, owner_id) "
+                    + "VALUES ('item', 'description', TRUE, ?)", userIds.get(i % 20));
+        }
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class);
+
+        for (int i = 0; i < 1000; i++) {
+            jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, status, booker_id, item_id) "
+                            + "VALUES (CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?, ?, ?)",
+                    i % 3 == 0 ? "WAITING" : "APPROVED", userIds.get(i % 20), itemIds.get(i % 100));
+        }
+    }
+
+    @Test
+    void whenMigrated_thenCommonAndVendorMigrationsApplied() {
+        List<String> applied = Arrays.stream(flyway.info().applied())
+                .filter(info -> info.getState() == MigrationState.SUCCESS)
+                .map(MigrationInfo::getScript)
+                .collect(Collectors.toList());
+
+        assertThat(applied, contains("V1__create_tables.sql", "V2__create_query_indexes.sql",
+                "V6__use_id_sequences.sql"));
+        assertThat(flyway.info().pending(), emptyArray());
+    }
+
+    @Test
+    void whenRowInsertedWithoutId_thenTakeIdFromSequence() {
+        Long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR users_seq", Long.class);
+
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('user', 'sequence@mail.ru')");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'sequence@mail.ru'", Long.class),
+                equalTo(next + 50));
+    }
+
+    @Test
+    void whenSchemaCreated_thenQueryIndexesExist() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT lower(index_name) FROM information_schema.indexes", String.class
+        );
+
+        assertThat(indexes, hasItems(
+                "idx_bookings_booker_start_id",
+                "idx_bookings_item_start_id",
+                "idx_bookings_item_end",
+                "idx_bookings_booker_status_start",
+                "idx_items_owner_id",
+                "idx_items_request_id",
+                "idx_comments_item_id",
+                "idx_item_requests_requester_created",
+                "idx_item_requests_created"
+        ));
+    }
+
+    @Test
+    void whenFindLastBooking_thenUseItemEndIndex() {
+        String plan = explain("SELECT * FROM bookings b "
+                + "WHERE b.item_id = 1 AND b.end_date < CURRENT_TIMESTAMP "
+                + "ORDER BY b.end_date DESC");
+
+        assertThat(plan, containsString("IDX_BOOKINGS_ITEM_END"));
+    }
+
+    @Test
+    void whenFindNextBooking_thenUseItemIndex() {
+        String plan = explain("SELECT * FROM bookings b "
+                + "WHERE b.item_id = 1 AND b.start_date > CURRENT_TIMESTAMP "
+                + "ORDER BY b.start_date");
+
+        assertIndexLookup(plan, "ITEM_ID =");
+    }
+
+    @Test
+    void whenFindBookingsByBookerAndStatus_thenUseBookerStatusIndex() {
+        String plan = explain("SELECT * FROM bookings b "
+                + "WHERE b.booker_id = 1 AND b.status = 'WAITING' "
+                + "ORDER BY b.start_date DESC");
+
+        assertIndexLookup(plan, "BOOKER_ID =");
+    }
+
+    @Test
+    void whenFindBookingsByBooker_thenUseBookerIndex() {
+        String plan = explain("SELECT * FROM bookings b "
+                + "WHERE b.booker_id = 1 "
+                + "ORDER BY b.start_date DESC, b.id DESC");
+
+        assertIndexLookup(plan, "BOOKER_ID =");
+    }
+
+    @Test
+    void whenFindBookingsByOwner_thenUseOwnerAndItemIndexes() {
+        String plan = explain("SELECT b.* FROM bookings b "
+                + "JOIN items i ON i.id = b.item_id "
+                + "WHERE i.owner_id = 1 "
+                + "ORDER BY b.start_date DESC");
+
+        assertIndexLookup(plan, "OWNER_ID =");
+        assertThat(plan, containsString("ITEM_ID = I.ID"));
+    }
+
+    @Test
+    void whenFindItemsByRequestIds_thenUseRequestIndex() {
+        String plan = explain("SELECT * FROM items i WHERE i.request_id IN (1, 2)");
+
+        assertIndexLookup(plan, "REQUEST_ID IN");
+    }
+
+    @Test
+    void whenFindCommentsByItemIds_thenUseItemIndex() {
+        String plan = explain("SELECT * FROM comments c WHERE c.item_id IN (1, 2)");
+
+        assertIndexLookup(plan, "ITEM_ID IN");
+    }
+
+    @Test
+    void whenFindOwnRequests_thenUseRequesterIndex() {
+        String plan = explain("SELECT * FROM item_requests r "
+                + "WHERE r.requester_id = 1 "
+                + "ORDER BY r.created");
+
+        assertIndexLookup(plan, "REQUESTER_ID =");
+    }
+
+    @Test
+    void whenFindAllRequestsPage_thenReadCreatedIndexSorted() {
+        String plan = explain("SELECT * FROM item_requests r "
+                + "WHERE r.requester_id <> 1 "
+                + "ORDER BY r.created DESC "
+                + "LIMIT 20");
+
+        assertThat(plan, containsString("IDX_ITEM_REQUESTS_CREATED"));
+        assertThat(plan, containsString("index sorted"));
+    }
+
+    private String explain(String sql) {
+        return String.join(" ", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+
+    private void assertIndexLookup(String plan, String indexCondition) {
+        assertThat(plan, not(containsString("tableScan")));
+        assertThat(plan, matchesPattern("(?s).*/\\* PUBLIC\\.\\w+: " + indexCondition + ".*"));
+    }
+
+}
@@ -0,0 +1,133 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingCalendarTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new BookingCalendar(bookingRepository, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void whenNoBookings_thenWholePeriodIsFree() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfterOrderByStart(eq(1L), anyCollection(), any()))
+                .thenReturn(List.of());
+
+        assertEquals(List.of(slot(0, 24)), calendar.getFreeSlots(1L, DAY, DAY.plusHours(24)));
+    }
+
+    @Test
+    void whenBookingsOverlapOrTouch_thenReturnGapsBetweenMergedIntervals() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfterOrderByStart(eq(1L), anyCollection(), any()))
+                .thenReturn(List.of(
+                        createBooking(2, 4),
+                        createBooking(3, 6),
+                        createBooking(6, 8),
+                        createBooking(10, 12),
+                        createBooking(20, 30)
+                ));
+
+        assertEquals(List.of(slot(0, 2), slot(8, 10), slot(12, 20)),
+                calendar.getFreeSlots(1L, DAY, DAY.plusHours(24)));
+    }
+
+    @Test
+    void whenPeriodStartsInsideBooking_thenFirstSlotStartsAfterIt() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfterOrderByStart(eq(1L), anyCollection(), any()))
+                .thenReturn(List.of(
+                        createBooking(2, 4),
+                        createBooking(10, 12)
+                ));
+
+        assertEquals(List.of(slot(4, 10)), calendar.getFreeSlots(1L, DAY.plusHours(3), DAY.plusHours(11)));
+        assertEquals(List.of(slot(4, 6)), calendar.getFreeSlots(1L, DAY.plusHours(4), DAY.plusHours(6)));
+    }
+
+    @Test
+    void whenCalledTwice_thenLoadBookingsOnce() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfterOrderByStart(eq(1L), anyCollection(), any()))
+                .thenReturn(List.of(createBooking(2, 4)));
+
+        calendar.getFreeSlots(1L, DAY, DAY.plusHours(24));
+        calendar.getFreeSlots(1L, DAY, DAY.plusHours(12));
+
+        verify(bookingRepository, times(1))
+                .findAllByItemIdAndStatusInAndEndAfterOrderByStart(eq(1L), anyCollection(), any());
+    }
+
+    @Test
+    void whenInvalidated_thenReloadBookings() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfterOrderByStart(eq(1L), anyCollection(), any()))
+                .thenReturn(List.of(createBooking(2, 4)))
+                .thenReturn(List.of(createBooking(2, 4), createBooking(6, 8)));
+
+        calendar.getFreeSlots(1L, DAY, DAY.plusHours(24));
+        calendar.invalidate(1L);
+
+        assertEquals(List.of(slot(0, 2), slot(4, 6), slot(8, 24)),
+                calendar.getFreeSlots(1L, DAY, DAY.plusHours(24)));
+        verify(bookingRepository, times(2))
+                .findAllByItemIdAndStatusInAndEndAfterOrderByStart(eq(1L), anyCollection(), any());
+    }
+
+    @Test
+    void whenPeriodStartsInPast_thenFreeSlotsStartNoEarlierThanNow() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfterOrderByStart(eq(1L), anyCollection(), any()))
+                .thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now();
+
+        List<AvailabilitySlotDto> slots = calendar.getFreeSlots(1L, before.minusDays(1), DAY);
+
+        assertEquals(1, slots.size());
+        assertFalse(slots.get(0).getStart().isBefore(before.truncatedTo(ChronoUnit.MILLIS)));
+        assertEquals(DAY, slots.get(0).getEnd());
+    }
+
+    @Test
+    void whenPeriodIsInPast_thenNoFreeSlotsAndOnlyCurrentBookingsLoaded() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndAfterOrderByStart(eq(1L), anyCollection(), any()))
+                .thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now();
+
+        assertEquals(List.of(), calendar.getFreeSlots(1L, before.minusDays(2), before.minusDays(1)));
+        verify(bookingRepository).findAllByItemIdAndStatusInAndEndAfterOrderByStart(eq(1L), anyCollection(),
+                argThat(end -> !end.isBefore(before)));
+    }
+
+    private Booking createBooking(int startHour, int endHour) {
+        return new Booking(null, DAY.plusHours(startHour), DAY.plusHours(endHour), null, null,
+                BookingStatus.APPROVED);
+    }
+
+    private AvailabilitySlotDto slot(int startHour, int endHour) {
+        return new AvailabilitySlotDto(DAY.plusHours(startHour), DAY.plusHours(endHour));
+    }
+
+}
@@ -7,20 +7,31 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.model.BookingExportFormat;
+import ru.practicum.shareit.booking.model.BookingExportScope;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -32,6 +43,9 @@ class BookingControllerTest {
     @MockBean
     private BookingService service;
 
+    @MockBean
+    private BookingExporter exporter;
+
     @Autowired
     private MockMvc mvc;
 
@@ -147,10 +161,55 @@ class BookingControllerTest {
            .andExpect(jsonPath("$.length()").value(bookingsStatusDto.size()));
     }
 
+    @Test
+    void whenGetByOwnerIdAfterCursor_thenCallKeysetService() throws Exception {
+        List<BookingDto> bookingsStatusDto = List.of(BookingDto.builder()
+                                                               .id(1L)
+                                                               .status(BookingStatus.WAITING)
+                                                               .build());
+
+        when(service.getByOwnerIdAfter(1L, BookingState.ALL, "2022-10-01T12:00,15", 20))
+                .thenReturn(bookingsStatusDto);
+
+        mvc.perform(get("/bookings/owner")
+                   .header("X-Sharer-User-Id", 1L)
+                   .param("state", "ALL")
+                   .param("from", "0")
+                   .param("size", "20")
+                   .param("after", "2022-10-01T12:00,15"))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.length()").value(bookingsStatusDto.size()));
+    }
+
     private UserDto createUserDto(long i) {
         return UserDto.builder()
                       .id(i)
                       .build();
     }
 
+    @Test
+    void whenExportBookings_thenStreamExporterOutput() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(3, OutputStream.class)
+                      .write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exporter).export(eq(1L), eq(BookingExportScope.OWNER), eq(BookingExportFormat.CSV), any());
+
+        MvcResult result = mvc.perform(get("/bookings/export")
+                                      .header("X-Sharer-User-Id", 1L)
+                                      .param("scope", "OWNER")
+                                      .param("format", "CSV"))
+                              .andExpect(request().asyncStarted())
+                              .andReturn();
+
+        assertEquals(Duration.ofMinutes(30).toMillis(), result.getRequest()
+                                                              .getAsyncContext()
+                                                              .getTimeout());
+
+        mvc.perform(asyncDispatch(result))
+           .andExpect(status().isOk())
+           .andExpect(content().contentType("text/csv"))
+           .andExpect(content().string("id\n1\n"));
+    }
+
 }
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingExportFormat;
+import ru.practicum.shareit.booking.model.BookingExportScope;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Transactional
+@SpringBootTest(
+        properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingExporterIntegrationTest {
+
+    private final BookingExporter exporter;
+    private final EntityManager entityManager;
+
+    @Test
+    void whenExportBookerCsv_thenWriteHeaderAndBookingsNewestFirst() throws IOException {
+        User owner = persist(createUser(1L));
+        User booker = persist(createUser(2L));
+        Item item = persist(new Item(null, "Drill, cordless", "description", true, owner));
+        Booking older = persist(createBooking(item, booker, LocalDateTime.of(2022, 1, 1, 10, 0)));
+        Booking newer = persist(createBooking(item, booker, LocalDateTime.of(2022, 2, 1, 10, 0)));
+        persist(createBooking(item, owner, LocalDateTime.of(2022, 3, 1, 10, 0)));
+
+        String[] lines = export(booker.getId(), BookingExportScope.BOOKER, BookingExportFormat.CSV);
+
+        assertThat(lines, arrayContaining(
+                BookingExporter.CSV_HEADER,
+                newer.getId() + ",2022-02-01T10:00,2022-02-01T12:00,APPROVED,"
+                        + item.getId() + ",\"Drill, cordless\"," + booker.getId() + ",user2",
+                older.getId() + ",2022-01-01T10:00,2022-01-01T12:00,APPROVED,"
+                        + item.getId() + ",\"Drill, cordless\"," + booker.getId() + ",user2"));
+    }
+
+    @Test
+    void whenExportOwnerNdjson_thenWriteEveryBookingOfOwnedItems() throws IOException {
+        int count = Integer.parseInt(BookingRepository.EXPORT_FETCH_SIZE) + 1;
+        User owner = persist(createUser(1L));
+        User booker = persist(createUser(2L));
+        Item item = persist(new Item(null, "item", "description", true, owner));
+        for (int i = 0; i < count; i++) {
+            persist(createBooking(item, booker, LocalDateTime.of(2022, 1, 1, 10, 0).plusDays(i)));
+        }
+        persist(createBooking(persist(new Item(null, "other", "description", true, booker)), owner,
+                LocalDateTime.of(2022, 1, 1, 10, 0)));
+
+        String[] lines = export(owner.getId(), BookingExportScope.OWNER, BookingExportFormat.NDJSON);
+
+        assertThat(lines.length, equalTo(count));
+        assertThat(lines[0], startsWith("{\"id\":"));
+        assertThat(lines[0], containsString("\"item\":{\"id\":" + item.getId()));
+        assertThat(lines[count - 1], containsString("\"start\":\"2022-01-01T10:00:00\""));
+    }
+
+    @Test
+    void whenNoBookings_thenExportOnlyCsvHeader() throws IOException {
+        User booker = persist(createUser(1L));
+
+        String[] lines = export(booker.getId(), BookingExportScope.BOOKER, BookingExportFormat.CSV);
+
+        assertThat(lines, arrayContaining(BookingExporter.CSV_HEADER));
+    }
+
+    private String[] export(Long userId, BookingExportScope scope, BookingExportFormat format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        exporter.export(userId, scope, format, output);
+
+        return output.toString(StandardCharsets.UTF_8).split("\n");
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    private Booking createBooking(Item item, User booker, LocalDateTime start) {
+        return new Booking(null, start, start.plusHours(2), item, booker, BookingStatus.APPROVED);
+    }
+
+    private User createUser(Long id) {
+        return User.builder()
+                   .name("user" + id)
+                   .email("user" + id + "@mail.ru")
+                   .build();
+    }
+
+}
@@ -1,7 +1,11 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,21 +14,26 @@ import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exeption.ConflictException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @SpringBootTest(
-        properties = "db.name=test",
+        properties = {"db.name=test", "spring.jpa.properties.hibernate.generate_statistics=true"},
         webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class BookingServiceIntegrationTest {
@@ -106,6 +115,79 @@ class BookingServiceIntegrationTest {
         assertThat(BookingStatus.APPROVED, equalTo(approvedBooking.getStatus()));
     }
 
+    @Test
+    public void whenApproveOverlappingBooking_thenThrowConflictException() {
+        User booker = createUser(1L);
+        User owner = createUser(2L);
+
+        entityManager.persist(booker);
+        entityManager.persist(owner);
+        Item item = createItem(1L, owner);
+        entityManager.persist(item);
+
+        Booking approved = createBooking(item, booker);
+        Booking overlapping = new Booking(null, approved.getStart()
+                                                        .plusMinutes(30), approved.getEnd()
+                                                                                  .plusMinutes(30),
+                item, booker, BookingStatus.WAITING);
+        entityManager.persist(approved);
+        entityManager.persist(overlapping);
+
+        service.approve(owner.getId(), approved.getId(), true);
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> service.approve(owner.getId(), overlapping.getId(), true));
+
+        assertThat(exception.getMessage(), equalTo("The item is already booked for these dates"));
+        assertThat(overlapping.getStatus(), equalTo(BookingStatus.WAITING));
+    }
+
+    @Test
+    public void whenApproveAdjacentBooking_thenBookingWithApprovedStatus() {
+        User booker = createUser(1L);
+        User owner = createUser(2L);
+
+        entityManager.persist(booker);
+        entityManager.persist(owner);
+        Item item = createItem(1L, owner);
+        entityManager.persist(item);
+
+        LocalDateTime end = LocalDateTime.now()
+                                         .truncatedTo(ChronoUnit.SECONDS);
+        Booking approved = new Booking(null, end.minusHours(1), end, item, booker, BookingStatus.WAITING);
+        Booking adjacent = new Booking(null, end, end.plusHours(1), item, booker, BookingStatus.WAITING);
+        entityManager.persist(approved);
+        entityManager.persist(adjacent);
+
+        service.approve(owner.getId(), approved.getId(), true);
+        BookingDto approvedBooking = service.approve(owner.getId(), adjacent.getId(), true);
+
+        assertThat(approvedBooking.getStatus(), equalTo(BookingStatus.APPROVED));
+    }
+
+    @Test
+    public void whenCreateBookingOverlappingApproved_thenThrowConflictException() {
+        User booker = createUser(1L);
+        User owner = createUser(2L);
+
+        entityManager.persist(booker);
+        entityManager.persist(owner);
+        Item item = createItem(1L, owner);
+        entityManager.persist(item);
+
+        BookingRequestDto bookingRequestDto = createBookingDto(item.getId());
+        Booking approved = new Booking(null, bookingRequestDto.getStart()
+                                                              .minusMinutes(5), bookingRequestDto.getEnd()
+                                                                                                 .minusMinutes(5),
+                item, owner, BookingStatus.APPROVED);
+        entityManager.persist(approved);
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> service.create(booker.getId(), bookingRequestDto));
+
+        assertThat(exception.getMessage(), equalTo("The item is already booked for these dates"));
+    }
+
     @Test
     public void whenGetByBookerId_thenReturnBookingsByBooker() {
         List<User> bookers = List.of(createUser(1L), createUser(2L));
@@ -173,6 +255,163 @@ class BookingServiceIntegrationTest {
         assertThat(ownItems, hasSize(bookings.size() - 1));
     }
 
+    @Test
+    public void whenGetByBookerIdAfterCursor_thenReturnNextPageWithoutOverlap() {
+        User booker = createUser(1L);
+        entityManager.persist(booker);
+        User owner = createUser(2L);
+        entityManager.persist(owner);
+        Item item = createItem(1L, owner);
+        entityManager.persist(item);
+
+        LocalDateTime start = LocalDateTime.now().minusDays(10).withNano(0);
+        List<Booking> bookings = List.of(
+                new Booking(null, start, start.plusHours(1), item, booker, BookingStatus.WAITING),
+                new Booking(null, start, start.plusHours(1), item, booker, BookingStatus.WAITING),
+                new Booking(null, start.plusDays(1), start.plusDays(2), item, booker, BookingStatus.WAITING),
+                new Booking(null, start.plusDays(2), start.plusDays(3), item, booker, BookingStatus.WAITING)
+        );
+        bookings.forEach(entityManager::persist);
+
+        List<BookingDto> firstPage = service.getByBookerIdAfter(booker.getId(), BookingState.ALL,
+                LocalDateTime.now() + "," + Long.MAX_VALUE, 3);
+        BookingDto last = firstPage.get(firstPage.size() - 1);
+        List<BookingDto> secondPage = service.getByBookerIdAfter(booker.getId(), BookingState.ALL,
+                last.getStart() + "," + last.getId(), 3);
+
+        assertThat(firstPage, hasSize(3));
+        assertThat(firstPage.get(0).getId(), equalTo(bookings.get(3).getId()));
+        assertThat(firstPage.get(1).getId(), equalTo(bookings.get(2).getId()));
+        assertThat(firstPage.get(2).getId(), equalTo(bookings.get(1).getId()));
+        assertThat(secondPage, hasSize(1));
+        assertThat(secondPage.get(0).getId(), equalTo(bookings.get(0).getId()));
+    }
+
+    @Test
+    public void whenBookingsShareStart_thenOffsetAndKeysetPagesHaveSameOrder() {
+        User booker = createUser(1L);
+        entityManager.persist(booker);
+        User owner = createUser(2L);
+        entityManager.persist(owner);
+        Item item = createItem(1L, owner);
+        entityManager.persist(item);
+
+        LocalDateTime start = LocalDateTime.now().minusDays(10).withNano(0);
+        for (int i = 0; i < 4; i++) {
+            entityManager.persist(new Booking(null, start, start.plusHours(1), item, booker, BookingStatus.WAITING));
+        }
+
+        List<BookingDto> offsetPage = service.getByOwnerId(owner.getId(), BookingState.ALL, 0, 4);
+        List<BookingDto> keysetPage = service.getByOwnerIdAfter(owner.getId(), BookingState.ALL,
+                LocalDateTime.now() + "," + Long.MAX_VALUE, 4);
+
+        assertThat(offsetPage, equalTo(keysetPage));
+        assertThat(offsetPage.get(0).getId(), greaterThan(offsetPage.get(3).getId()));
+    }
+
+    @Test
+    public void whenGetByOwnerIdAfterCursor_thenReturnOlderBookingsWithState() {
+        User booker = createUser(1L);
+        entityManager.persist(booker);
+        User owner = createUser(2L);
+        entityManager.persist(owner);
+        Item item = createItem(1L, owner);
+        entityManager.persist(item);
+
+        LocalDateTime start = LocalDateTime.now().minusDays(10).withNano(0);
+        Booking waiting = new Booking(null, start, start.plusHours(1), item, booker, BookingStatus.WAITING);
+        Booking rejected = new Booking(null, start.plusDays(1), start.plusDays(2), item, booker,
+                BookingStatus.REJECTED);
+        Booking newest = new Booking(null, start.plusDays(2), start.plusDays(3), item, booker,
+                BookingStatus.WAITING);
+        List.of(waiting, rejected, newest).forEach(entityManager::persist);
+
+        List<BookingDto> ownerBookings = service.getByOwnerIdAfter(owner.getId(), BookingState.WAITING,
+                newest.getStart() + "," + newest.getId(), 20);
+
+        assertThat(ownerBookings, hasSize(1));
+        assertThat(ownerBookings.get(0).getId(), equalTo(waiting.getId()));
+    }
+
+    @Test
+    public void whenGetFullPageByBookerId_thenExecuteSingleQueryWithoutCount() {
+        User booker = createUser(1L);
+        entityManager.persist(booker);
+        User owner = createUser(2L);
+        entityManager.persist(owner);
+        Item item = createItem(1L, owner);
+        entityManager.persist(item);
+
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(createBooking(item, booker));
+        }
+        entityManager.flush();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                                             .unwrap(SessionFactory.class)
+                                             .getStatistics();
+        statistics.clear();
+
+        List<BookingDto> bookerBookings = service.getByBookerId(booker.getId(), BookingState.ALL, 0, 2);
+
+        assertThat(bookerBookings, hasSize(2));
+        assertThat(statistics.getQueryExecutionCount(), equalTo(1L));
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    public void whenGetBookingPages_thenExecuteSingleStatementPerEndpoint(BookingState state) {
+        User owner = createUser(1L);
+        entityManager.persist(owner);
+        List<User> bookers = List.of(createUser(2L), createUser(3L));
+        bookers.forEach(entityManager::persist);
+        ItemRequest request = new ItemRequest("request", bookers.get(0), LocalDateTime.now());
+        entityManager.persist(request);
+        List<Item> items = List.of(createItem(1L, owner), createItem(2L, owner));
+        items.get(0).setRequest(request);
+        items.forEach(entityManager::persist);
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int offset = 0;
+        for (User booker : bookers) {
+            for (Item item : items) {
+                for (LocalDateTime start : List.of(now.minusDays(10), now.minusHours(1), now.plusDays(10))) {
+                    for (BookingStatus status : List.of(BookingStatus.WAITING, BookingStatus.REJECTED)) {
+                        LocalDateTime bookingStart = start.plusMinutes(offset++);
+                        entityManager.persist(new Booking(null, bookingStart, bookingStart.plusDays(2), item, booker,
+                                status));
+                    }
+                }
+            }
+        }
+        entityManager.flush();
+        String cursor = now.plusYears(1) + "," + Long.MAX_VALUE;
+
+        assertThat("booker " + state, countStatements(
+                () -> service.getByBookerId(bookers.get(0).getId(), state, 0, 20)), equalTo(1L));
+        assertThat("owner " + state, countStatements(
+                () -> service.getByOwnerId(owner.getId(), state, 0, 20)), equalTo(1L));
+        assertThat("booker after " + state, countStatements(
+                () -> service.getByBookerIdAfter(bookers.get(0).getId(), state, cursor, 20)), equalTo(1L));
+        assertThat("owner after " + state, countStatements(
+                () -> service.getByOwnerIdAfter(owner.getId(), state, cursor, 20)), equalTo(1L));
+    }
+
+    private long countStatements(Supplier<List<BookingDto>> request) {
+        entityManager.clear();
+        entityManager.getEntityManagerFactory()
+                     .getCache()
+                     .evictAll();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                                             .unwrap(SessionFactory.class)
+                                             .getStatistics();
+        statistics.clear();
+
+        assertThat(request.get(), not(empty()));
+
+        return statistics.getPrepareStatementCount();
+    }
+
     private Booking createBooking(Item item, User booker) {
         return new Booking(
                 null,
@@ -5,8 +5,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
@@ -14,6 +17,7 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exeption.BadRequestException;
+import ru.practicum.shareit.exeption.ConflictException;
 import ru.practicum.shareit.exeption.NotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
@@ -37,6 +41,10 @@ class BookingServiceUnitTest {
     UserRepository userRepository;
     @Mock
     ItemRepository itemRepository;
+    @Mock
+    BookingCalendar bookingCalendar;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     BookingServiceImpl bookingService;
@@ -197,6 +205,7 @@ class BookingServiceUnitTest {
         bookingService.approve(2L, 1L, true);
 
         verify(bookingRepository, times(1)).save(any());
+        verify(bookingCalendar, times(1)).invalidate(1L);
     }
 
     @Test
@@ -237,6 +246,47 @@ class BookingServiceUnitTest {
         assertEquals("Booking status can't change after approval", exception.getMessage());
     }
 
+    @Test
+    void whenApproveOverlappingBooking_thenThrowConflictException() {
+        User booker = createUser(1L);
+        User owner = createUser(2L);
+        Item item = createItem(1L, owner);
+
+        Booking booking = createBooking(1L, item, booker);
+
+        when(bookingRepository.findById(anyLong()))
+                .thenReturn(Optional.of(booking));
+        when(bookingRepository.existsOverlap(anyLong(), any(), any(), any()))
+                .thenReturn(true);
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> bookingService.approve(2L, 1L, true));
+
+        assertEquals("The item is already booked for these dates", exception.getMessage());
+        verify(itemRepository, times(1)).findByIdForUpdate(1L);
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void whenApprovalViolatesOverlapConstraint_thenThrowConflictException() {
+        User booker = createUser(1L);
+        User owner = createUser(2L);
+        Item item = createItem(1L, owner);
+
+        Booking booking = createBooking(1L, item, booker);
+
+        when(bookingRepository.findById(anyLong()))
+                .thenReturn(Optional.of(booking));
+        doThrow(new DataIntegrityViolationException("ex_bookings_item_approved_period"))
+                .when(bookingRepository).flush();
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> bookingService.approve(2L, 1L, true));
+
+        assertEquals("The item is already booked for these dates", exception.getMessage());
+        verify(bookingCalendar, never()).invalidate(anyLong());
+    }
+
     @Test
     void whenApproveNotOwner_thenThrowNotFoundException() {
         User booker = createUser(1L);
@@ -361,8 +411,7 @@ class BookingServiceUnitTest {
 
         when(bookingRepository.findAllByOwnerIdAndStatus(4L,
                 BookingStatus.WAITING,
-                PageRequest.of(0, 20, Sort.by("start")
-                                          .descending())))
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "start", "id"))))
                 .thenReturn(new PageImpl<>(bookings));
 
         bookingService.getByOwnerId(4L, BookingState.WAITING, 0, 20);
@@ -370,8 +419,7 @@ class BookingServiceUnitTest {
         verify(bookingRepository, times(1))
                 .findAllByOwnerIdAndStatus(4L,
                         BookingStatus.WAITING,
-                        PageRequest.of(0, 20, Sort.by("start")
-                                                  .descending()));
+                        PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "start", "id")));
     }
 
     @Test
@@ -380,8 +428,7 @@ class BookingServiceUnitTest {
 
         when(bookingRepository.findAllByOwnerIdAndStatus(4L,
                 BookingStatus.REJECTED,
-                PageRequest.of(0, 20, Sort.by("start")
-                                          .descending())))
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "start", "id"))))
                 .thenReturn(new PageImpl<>(bookings));
 
         bookingService.getByOwnerId(4L, BookingState.REJECTED, 0, 20);
@@ -389,8 +436,42 @@ class BookingServiceUnitTest {
         verify(bookingRepository, times(1))
                 .findAllByOwnerIdAndStatus(4L,
                         BookingStatus.REJECTED,
-                        PageRequest.of(0, 20, Sort.by("start")
-                                                  .descending()));
+                        PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "start", "id")));
+    }
+
+    @Test
+    void whenGetByBookerIdAfterCursor_thenCallKeysetQuery() {
+        LocalDateTime cursorStart = LocalDateTime.of(2022, 10, 1, 12, 0);
+
+        when(bookingRepository.findAllByBookerAfter(4L, cursorStart, 15L, PageRequest.of(0, 20)))
+                .thenReturn(new SliceImpl<>(createOwnerBookingsList()));
+
+        List<BookingDto> bookings = bookingService.getByBookerIdAfter(4L, BookingState.ALL,
+                "2022-10-01T12:00,15", 20);
+
+        assertEquals(createOwnerBookingsList().size(), bookings.size());
+    }
+
+    @Test
+    void whenGetByOwnerIdAfterCursorWithStatus_thenCallKeysetQueryWithStatus() {
+        LocalDateTime cursorStart = LocalDateTime.of(2022, 10, 1, 12, 0);
+
+        when(bookingRepository.findAllByOwnerIdAndStatusAfter(4L, BookingStatus.REJECTED,
+                cursorStart, 15L, PageRequest.of(0, 20)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        List<BookingDto> bookings = bookingService.getByOwnerIdAfter(4L, BookingState.REJECTED,
+                "2022-10-01T12:00,15", 20);
+
+        assertEquals(0, bookings.size());
+    }
+
+    @Test
+    void whenGetByBookerIdAfterInvalidCursor_thenThrowBadRequestException() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> bookingService.getByBookerIdAfter(4L, BookingState.ALL, "yesterday", 20));
+
+        assertEquals("Invalid cursor: yesterday", exception.getMessage());
     }
 
     @Test
@@ -463,8 +544,7 @@ class BookingServiceUnitTest {
 
         when(bookingRepository.findAllByBookerIdAndStatus(4L,
                 BookingStatus.WAITING,
-                PageRequest.of(0, 20, Sort.by("start")
-                                          .descending())))
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "start", "id"))))
                 .thenReturn(new PageImpl<>(bookings));
 
         bookingService.getByBookerId(4L, BookingState.WAITING, 0, 20);
@@ -472,8 +552,7 @@ class BookingServiceUnitTest {
         verify(bookingRepository, times(1))
                 .findAllByBookerIdAndStatus(4L,
                         BookingStatus.WAITING,
-                        PageRequest.of(0, 20, Sort.by("start")
-                                                  .descending()));
+                        PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "start", "id")));
     }
 
     @Test
@@ -482,8 +561,7 @@ class BookingServiceUnitTest {
 
         when(bookingRepository.findAllByBookerIdAndStatus(4L,
                 BookingStatus.REJECTED,
-                PageRequest.of(0, 20, Sort.by("start")
-                                          .descending())))
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "start", "id"))))
                 .thenReturn(new PageImpl<>(bookings));
 
         bookingService.getByBookerId(4L, BookingState.REJECTED, 0, 20);
@@ -491,8 +569,7 @@ class BookingServiceUnitTest {
         verify(bookingRepository, times(1))
                 .findAllByBookerIdAndStatus(4L,
                         BookingStatus.REJECTED,
-                        PageRequest.of(0, 20, Sort.by("start")
-                                                  .descending()));
+                        PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "start", "id")));
     }
 
     private Booking createBooking(Long id, Item item, User booker) {
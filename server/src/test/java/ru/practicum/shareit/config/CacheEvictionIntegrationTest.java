@@ -0,0 +1,79 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(
+        properties = {"db.name=test", "spring.cache.type=caffeine"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class CacheEvictionIntegrationTest {
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final CacheManager cacheManager;
+
+    private UserDto owner;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(new UserDto(null, "owner", "cache.owner@mail.ru"));
+        item = itemService.create(owner.getId(), new ItemDto(null, "Drill", "Cordless drill", true, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteById(owner.getId());
+        cacheManager.getCacheNames()
+                    .forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void whenGetUser_thenCacheDto() {
+        userService.getUser(owner.getId());
+
+        assertThat(cacheManager.getCache(CacheConfig.USERS).get(owner.getId()), notNullValue());
+    }
+
+    @Test
+    void whenUserUpdated_thenEvictCachedDto() {
+        userService.getUser(owner.getId());
+
+        userService.update(owner.getId(), UserDto.builder()
+                                                 .name("renamed")
+                                                 .build());
+
+        assertThat(cacheManager.getCache(CacheConfig.USERS).get(owner.getId()), nullValue());
+        assertThat(userService.getUser(owner.getId()).getName(), equalTo("renamed"));
+    }
+
+    @Test
+    void whenItemUpdated_thenEvictCachedItemView() {
+        itemService.getItem(item.getId(), owner.getId());
+        assertThat(cacheManager.getCache(CacheConfig.ITEMS).get(item.getId()), notNullValue());
+
+        itemService.update(owner.getId(), item.getId(), new ItemDto(null, "Hammer drill", null, null, null));
+
+        assertThat(cacheManager.getCache(CacheConfig.ITEMS).get(item.getId()), nullValue());
+        assertThat(itemService.getItem(item.getId(), owner.getId()).getName(), equalTo("Hammer drill"));
+    }
+
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(
+        properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class HibernateCacheIntegrationTest {
+
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    private User user;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User(null, "cached", "cached.user@mail.ru"));
+        item = itemRepository.save(new Item(null, "Drill", "Cached drill", true, user));
+        statistics().clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll(commentRepository.findByItemId(item.getId()));
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void whenGetUserRepeatedly_thenServeFromSecondLevelCache() {
+        userService.getUser(user.getId());
+        userService.getUser(user.getId());
+        userService.getUser(user.getId());
+
+        assertThat(statistics().getPrepareStatementCount(), equalTo(0L));
+        assertThat(statistics().getDomainDataRegionStatistics(User.class.getName()).getHitCount(), equalTo(3L));
+    }
+
+    @Test
+    void whenUserUpdated_thenCacheServesNewState() {
+        userService.getUser(user.getId());
+
+        userService.update(user.getId(), UserDto.builder()
+                                                .email("updated.cached.user@mail.ru")
+                                                .build());
+
+        assertThat(userService.getUser(user.getId()).getEmail(), equalTo("updated.cached.user@mail.ru"));
+    }
+
+    @Test
+    void whenFindCommentsRepeatedly_thenServeFromQueryCacheUntilCommentAdded() {
+        commentRepository.findByItemId(item.getId());
+        commentRepository.findByItemId(item.getId());
+
+        assertThat(statistics().getQueryCacheHitCount(), equalTo(1L));
+
+        transactionTemplate.executeWithoutResult(status -> commentRepository.save(
+                new Comment(null, "Works", LocalDateTime.now(), item, user)
+        ));
+
+        assertThat(commentRepository.findByItemId(item.getId()), hasSize(1));
+        assertThat(statistics().getQueryCacheHitCount(), equalTo(1L));
+    }
+
+    @Test
+    void whenCacheUsed_thenExposeHitAndMissMeters() {
+        userService.getUser(user.getId());
+        userService.getUser(user.getId());
+
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                                .tag("region", User.class.getName())
+                                .tag("result", "hit")
+                                .functionCounter()
+                                .count(), greaterThanOrEqualTo(1.0));
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+}
@@ -0,0 +1,204 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(
+        properties = {
+                "db.name=test",
+                "spring.cache.type=caffeine",
+                "shareit.datasource.replica.jdbc-url=jdbc:h2:mem:shareit-replica",
+                "shareit.datasource.replica-lag-tolerance=1m"
+        },
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ReadWriteRoutingIntegrationTest {
+
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final ItemRequestService itemRequestService;
+    private final ItemRequestRepository itemRequestRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private final List<Long> createdUserIds = new ArrayList<>();
+    private final List<Long> createdItemIds = new ArrayList<>();
+    private final List<Long> createdRequestIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Flyway.configure()
+              .dataSource(replicaDataSource)
+              .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+              .load()
+              .migrate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        itemRepository.deleteAllById(createdItemIds);
+        itemRequestRepository.deleteAllById(createdRequestIds);
+        userRepository.deleteAllById(createdUserIds);
+        new JdbcTemplate(replicaDataSource).update("DELETE FROM items");
+        new JdbcTemplate(replicaDataSource).update("DELETE FROM users");
+    }
+
+    @Test
+    void whenReadOnlyTransaction_thenReadFromReplica() {
+        actAs(41L);
+        UserDto user = create(new UserDto(null, "primary only", "routing.primary@mail.ru"));
+
+        actAs(43L);
+        List<UserDto> replicaUsers = userService.getAll(0, 1000);
+        List<UserDto> primaryUsers = new TransactionTemplate(transactionManager)
+                .execute(status -> userService.getAll(0, 1000));
+
+        assertThat(replicaUsers, not(hasItem(user)));
+        assertThat(primaryUsers, hasItem(user));
+    }
+
+    @Test
+    void whenUserWroteWithinLagTolerance_thenReadOwnWritesFromPrimary() {
+        actAs(42L);
+        UserDto user = create(new UserDto(null, "writer", "routing.writer@mail.ru"));
+
+        List<UserDto> writerUsers = userService.getAll(0, 1000);
+        actAs(43L);
+        List<UserDto> otherUsers = userService.getAll(0, 1000);
+
+        assertThat(writerUsers, hasItem(user));
+        assertThat(otherUsers, not(hasItem(user)));
+    }
+
+    @Test
+    void whenWriteWithoutUserHeader_thenReadsWithoutUserHeaderUsePrimary() {
+        UserDto user = create(new UserDto(null, "anonymous writer", "routing.anonymous@mail.ru"));
+
+        List<UserDto> anonymousUsers = userService.getAll(0, 1000);
+        actAs(43L);
+        List<UserDto> otherUsers = userService.getAll(0, 1000);
+
+        assertThat(anonymousUsers, hasItem(user));
+        assertThat(otherUsers, not(hasItem(user)));
+    }
+
+    @Test
+    void whenReplicaIsStale_thenCachesAreNotFilledFromReplica() {
+        actAs(41L);
+        UserDto user = create(new UserDto(null, "fresh", "routing.fresh@mail.ru"));
+        new JdbcTemplate(replicaDataSource).update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)",
+                user.getId(), "stale", "routing.stale@mail.ru");
+        cacheManager.getCache(CacheConfig.USERS).clear();
+        entityManagerFactory.getCache().evictAll();
+
+        actAs(43L);
+        List<UserDto> replicaUsers = userService.getAll(0, 1000);
+        boolean cachedAfterReplicaRead = entityManagerFactory.getCache().contains(User.class, user.getId());
+        UserDto cachedUser = userService.getUser(user.getId());
+
+        assertThat(replicaUsers, hasItem(hasProperty("name", equalTo("stale"))));
+        assertThat(cachedAfterReplicaRead, is(false));
+        assertThat(cachedUser, equalTo(user));
+        assertThat(cacheManager.getCache(CacheConfig.USERS).get(user.getId(), UserDto.class), equalTo(user));
+    }
+
+    @Test
+    void whenListRequestsThroughReplica_thenDoNotCacheRequesterReadFromReplica() {
+        actAs(41L);
+        UserDto requester = create(new UserDto(null, "fresh requester", "routing.requester@mail.ru"));
+        UserDto other = create(new UserDto(null, "other", "routing.other@mail.ru"));
+        ItemRequestDto request = itemRequestService.create(other.getId(), ItemRequestDto.builder()
+                                                                                        .description("Need a drill")
+                                                                                        .build());
+        createdRequestIds.add(request.getId());
+        new JdbcTemplate(replicaDataSource).update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)",
+                requester.getId(), "stale requester", "routing.stale.requester@mail.ru");
+        clearCaches();
+
+        actAs(43L);
+        List<ItemRequestDto> requests = itemRequestService.getAllRequests(requester.getId(), 0, 10);
+
+        assertThat(requests, empty());
+        assertThat(cacheManager.getCache(CacheConfig.USERS).get(requester.getId()), nullValue());
+        assertThat(entityManagerFactory.getCache().contains(User.class, requester.getId()), is(false));
+    }
+
+    @Test
+    void whenGetItemThroughReplica_thenDoNotCacheItemReadFromReplica() {
+        actAs(41L);
+        UserDto owner = create(new UserDto(null, "owner", "routing.owner@mail.ru"));
+        ItemDto item = itemService.create(owner.getId(), new ItemDto(null, "fresh drill", "Cordless drill", true, null));
+        createdItemIds.add(item.getId());
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)",
+                owner.getId(), owner.getName(), owner.getEmail());
+        replica.update("INSERT INTO items (id, name, description, available, owner_id) VALUES (?, ?, ?, ?, ?)",
+                item.getId(), "stale drill", "Cordless drill", true, owner.getId());
+        clearCaches();
+
+        actAs(43L);
+        ItemResponseDto replicaItem = itemService.getItem(item.getId(), 43L);
+
+        assertThat(replicaItem.getName(), equalTo("stale drill"));
+        assertThat(cacheManager.getCache(CacheConfig.ITEMS).get(item.getId()), nullValue());
+    }
+
+    private void clearCaches() {
+        cacheManager.getCacheNames()
+                    .forEach(name -> cacheManager.getCache(name).clear());
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private UserDto create(UserDto userDto) {
+        UserDto user = userService.create(userDto);
+        createdUserIds.add(user.getId());
+        return user;
+    }
+
+    private static void actAs(Long userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ReadYourWritesGuard.USER_ID_HEADER, userId);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+}
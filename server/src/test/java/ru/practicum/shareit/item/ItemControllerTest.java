@@ -7,11 +7,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -102,6 +104,21 @@ class ItemControllerTest {
            .andExpect(jsonPath("$.available", is(itemDto.getAvailable())));
     }
 
+    @Test
+    void whenCreateItemsBatch_thenReturnCreatedItemsStatus200() throws Exception {
+        when(service.createAll(1L, List.of(itemDto))).thenReturn(List.of(itemDto));
+
+        mvc.perform(post("/items/batch")
+                   .content(mapper.writeValueAsString(List.of(itemDto)))
+                   .header("X-Sharer-User-Id", 1L)
+                   .characterEncoding(StandardCharsets.UTF_8)
+                   .contentType(MediaType.APPLICATION_JSON)
+                   .accept(MediaType.APPLICATION_JSON))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$[0].id", is(itemDto.getId()), Long.class))
+           .andExpect(jsonPath("$[0].name", is(itemDto.getName())));
+    }
+
     @Test
     void whenUpdateItem_thenReturnUpdatedItemStatus200() throws Exception {
         ItemDto newItemName = ItemDto.builder()
@@ -158,6 +175,23 @@ class ItemControllerTest {
            .andExpect(jsonPath("$.length()").value(itemsDto.size()));
     }
 
+    @Test
+    void whenGetAvailability_thenReturnFreeSlotsStatus2xx() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 2, 10, 0);
+
+        when(service.getAvailability(1L, from, to))
+                .thenReturn(List.of(new AvailabilitySlotDto(from, to)));
+
+        mvc.perform(get("/items/1/availability")
+                   .param("from", "2030-01-01T10:00:00")
+                   .param("to", "2030-01-02T10:00:00"))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.length()").value(1))
+           .andExpect(jsonPath("$[0].start").value("2030-01-01T10:00:00"))
+           .andExpect(jsonPath("$[0].end").value("2030-01-02T10:00:00"));
+    }
+
     @Test
     void createComment() throws Exception {
         CommentDto commentDto = CommentDto.builder()
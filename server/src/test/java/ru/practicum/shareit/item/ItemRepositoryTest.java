@@ -1,11 +1,15 @@
 package ru.practicum.shareit.item;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -14,11 +18,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class ItemRepositoryTest {
 
     @Autowired
@@ -50,7 +55,7 @@ class ItemRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         //when
-        List<Item> receivedItems = repository.searchItem("search", pageable);
+        List<ItemView> receivedItems = repository.searchItem("search", pageable);
 
         //then
         assertThat(receivedItems, hasSize(items.size() - 1));
@@ -104,6 +109,70 @@ class ItemRepositoryTest {
 
     }
 
+    @Test
+    public void whenFindAllByRequestIdIn_thenReturnItemsOfAllRequests() {
+        //given
+        User owner = createUser(1L);
+        entityManager.persist(owner);
+
+        User requester = createUser(2L);
+        entityManager.persist(requester);
+
+        ItemRequest itemRequest1 = createItemRequest(requester);
+        entityManager.persist(itemRequest1);
+        ItemRequest itemRequest2 = createItemRequest(requester);
+        entityManager.persist(itemRequest2);
+        ItemRequest itemRequest3 = createItemRequest(requester);
+        entityManager.persist(itemRequest3);
+
+        Item item1 = createItem(owner);
+        item1.setRequest(itemRequest1);
+        entityManager.persist(item1);
+
+        Item item2 = createItem(owner);
+        item2.setRequest(itemRequest2);
+        entityManager.persist(item2);
+
+        Item item3 = createItem(owner);
+        item3.setRequest(itemRequest3);
+        entityManager.persist(item3);
+
+        //when
+        List<Item> receivedItems = repository.findAllByRequestIdIn(
+                List.of(itemRequest1.getId(), itemRequest2.getId())
+        );
+
+        //then
+        assertThat(receivedItems, hasSize(2));
+        assertThat(receivedItems, containsInAnyOrder(item1, item2));
+    }
+
+    @Test
+    public void whenFindFullPageOfOwnItems_thenExecuteSingleQueryWithoutCount() {
+        //given
+        User owner = createUser(1L);
+        entityManager.persist(owner);
+
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(createItem(owner));
+        }
+        entityManager.flush();
+
+        Statistics statistics = entityManager.getEntityManager()
+                                             .getEntityManagerFactory()
+                                             .unwrap(SessionFactory.class)
+                                             .getStatistics();
+        statistics.clear();
+
+        //when
+        Slice<Item> receivedItems = repository.findAllByOwnerIdOrderById(owner.getId(), PageRequest.of(0, 2));
+
+        //then
+        assertThat(receivedItems.getContent(), hasSize(2));
+        assertTrue(receivedItems.hasNext());
+        assertThat(statistics.getQueryExecutionCount(), equalTo(1L));
+    }
+
     private User createUser(Long id) {
         return User.builder()
                    .name("user" + id)
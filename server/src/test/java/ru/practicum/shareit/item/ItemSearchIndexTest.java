@@ -0,0 +1,150 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(itemRepository, true);
+    }
+
+    @Test
+    void whenRebuild_thenLoadAvailableItemsByChunks() {
+        when(itemRepository.findAllByAvailableIsTrueAndIdGreaterThanOrderById(eq(0L), any()))
+                .thenReturn(List.of(
+                        createItem(1L, "Drill", "Powerful drill", true),
+                        createItem(2L, "Saw", "Hand saw", true)
+                ));
+
+        index.rebuild();
+
+        assertTrue(index.supports("drill"));
+        assertEquals(List.of(1L), index.search("DRILL", 0, 20));
+        verify(itemRepository, times(1))
+                .findAllByAvailableIsTrueAndIdGreaterThanOrderById(anyLong(), any());
+    }
+
+    @Test
+    void whenSearchSubstring_thenMatchNameOrDescription() {
+        buildIndex(
+                createItem(1L, "item1", "description1", true),
+                createItem(2L, "forSearch", "description2", true),
+                createItem(3L, "item3", "name_search", true)
+        );
+
+        assertEquals(List.of(2L, 3L), index.search("search", 0, 20));
+        assertEquals(List.of(3L), index.search("search", 1, 20));
+        assertEquals(List.of(2L), index.search("search", 0, 1));
+    }
+
+    @Test
+    void whenAllGramsPresentButNoSubstring_thenReturnEmptyList() {
+        buildIndex(createItem(1L, "abcd", "cdab", true));
+
+        assertEquals(List.of(), index.search("abcdab", 0, 20));
+    }
+
+    @Test
+    void whenItemUpdated_thenReplaceIndexedText() {
+        buildIndex(createItem(1L, "Drill", "Powerful drill", true));
+
+        index.index(createItem(1L, "Hammer", "Heavy hammer", true));
+
+        assertEquals(List.of(), index.search("drill", 0, 20));
+        assertEquals(List.of(1L), index.search("hammer", 0, 20));
+    }
+
+    @Test
+    void whenItemBecomesUnavailable_thenRemoveFromIndex() {
+        buildIndex(createItem(1L, "Drill", "Powerful drill", true));
+
+        index.index(createItem(1L, "Drill", "Powerful drill", false));
+
+        assertEquals(List.of(), index.search("drill", 0, 20));
+    }
+
+    @Test
+    void whenIndexedInTransaction_thenApplyOnlyAfterCommit() {
+        buildIndex();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.index(createItem(1L, "Drill", "drill", true));
+            index.index(createItem(2L, "Drill", "drill", true));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager
+                    .getSynchronizations();
+
+            assertEquals(List.of(), index.search("drill", 0, 20));
+
+            synchronizations.get(0).afterCommit();
+            synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(1L), index.search("drill", 0, 20));
+    }
+
+    @Test
+    void whenItemsAddedOutOfOrder_thenReturnIdsInAscendingOrder() {
+        buildIndex();
+
+        index.index(createItem(5L, "Drill", "drill", true));
+        index.index(createItem(2L, "Drill", "drill", true));
+        index.index(createItem(9L, "Drill", "drill", true));
+
+        assertEquals(List.of(2L, 5L, 9L), index.search("drill", 0, 20));
+    }
+
+    @Test
+    void whenTextShorterThanGram_thenNotSupported() {
+        buildIndex();
+
+        assertFalse(index.supports("ab"));
+    }
+
+    @Test
+    void whenIndexDisabled_thenNotSupportedAndRepositoryNotCalled() {
+        ItemSearchIndex disabledIndex = new ItemSearchIndex(itemRepository, false);
+
+        disabledIndex.rebuild();
+        disabledIndex.index(createItem(1L, "Drill", "drill", true));
+
+        assertFalse(disabledIndex.supports("drill"));
+        verifyNoInteractions(itemRepository);
+    }
+
+    private void buildIndex(Item... items) {
+        when(itemRepository.findAllByAvailableIsTrueAndIdGreaterThanOrderById(eq(0L), any()))
+                .thenReturn(List.of(items));
+
+        index.rebuild();
+    }
+
+    private Item createItem(Long id, String name, String description, Boolean available) {
+        return new Item(id, name, description, available, null);
+    }
+
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -10,13 +12,17 @@ import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -32,6 +38,28 @@ class ItemServiceIntegrationTest {
 
     private final ItemService service;
     private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void whenCreateAll_thenInsertItemsInJdbcBatches() {
+        User owner = createUser(1L);
+        entityManager.persist(owner);
+        entityManager.flush();
+        List<ItemDto> itemDtos = IntStream.range(0, 100)
+                                          .mapToObj(i -> createItemInputDto((long) i))
+                                          .collect(Collectors.toList());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+                                                    .getStatistics();
+        statistics.clear();
+
+        List<ItemDto> createdItems = service.createAll(owner.getId(), itemDtos);
+        entityManager.flush();
+
+        assertThat(createdItems, hasSize(100));
+        assertThat(createdItems.get(99).getId(), notNullValue());
+        assertThat(statistics.getEntityInsertCount(), equalTo(100L));
+        assertThat(statistics.getPrepareStatementCount(), lessThan(10L));
+    }
 
     @Test
     public void whenGetItemExist_thenReturnItemOutputDto() {
@@ -74,6 +102,50 @@ class ItemServiceIntegrationTest {
         }
     }
 
+    @Test
+    public void whenGetOwnItemsWithBookingsAndComments_thenReturnEnrichedItems() {
+        User owner = createUser(1L);
+        entityManager.persist(owner);
+        User booker = createUser(2L);
+        entityManager.persist(booker);
+
+        Item item1 = createItem(1L, owner);
+        Item item2 = createItem(2L, owner);
+        entityManager.persist(item1);
+        entityManager.persist(item2);
+
+        LocalDateTime now = LocalDateTime.now();
+        Booking oldBooking = new Booking(null, now.minusDays(3), now.minusDays(2),
+                item1, booker, BookingStatus.APPROVED);
+        Booking lastBooking = new Booking(null, now.minusDays(2), now.minusDays(1),
+                item1, booker, BookingStatus.APPROVED);
+        Booking nextBooking = new Booking(null, now.plusDays(1), now.plusDays(2),
+                item1, booker, BookingStatus.WAITING);
+        Booking laterBooking = new Booking(null, now.plusDays(3), now.plusDays(4),
+                item1, booker, BookingStatus.WAITING);
+        List.of(oldBooking, lastBooking, nextBooking, laterBooking)
+            .forEach(entityManager::persist);
+
+        entityManager.persist(new Comment(null, "comment", now, item1, booker));
+
+        List<ItemResponseDto> ownItems = service.getOwnItems(owner.getId(), 0, 20);
+
+        assertThat(ownItems, hasSize(2));
+
+        ItemResponseDto enrichedItem = ownItems.get(0);
+        assertThat(enrichedItem.getId(), equalTo(item1.getId()));
+        assertThat(enrichedItem.getLastBooking().getId(), equalTo(lastBooking.getId()));
+        assertThat(enrichedItem.getNextBooking().getId(), equalTo(nextBooking.getId()));
+        assertThat(enrichedItem.getComments(), hasSize(1));
+        assertThat(enrichedItem.getComments().get(0).getAuthorName(), equalTo(booker.getName()));
+
+        ItemResponseDto plainItem = ownItems.get(1);
+        assertThat(plainItem.getId(), equalTo(item2.getId()));
+        assertThat(plainItem.getLastBooking(), nullValue());
+        assertThat(plainItem.getNextBooking(), nullValue());
+        assertThat(plainItem.getComments(), empty());
+    }
+
     @Test
     public void whenCreate_thenReturnItemInputDto() {
         User owner = createUser(1L);
@@ -130,6 +202,26 @@ class ItemServiceIntegrationTest {
         assertThat(foundItems, hasSize(items.size() - 1));
     }
 
+    @Test
+    public void whenSearchItem_thenDoNotLoadItemEntities() {
+        User owner = createUser(1L);
+        entityManager.persist(owner);
+        Item item = createItem(1L, owner);
+        item.setName("forSearch");
+        entityManager.persist(item);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+                                                    .getStatistics();
+        statistics.clear();
+
+        List<ItemDto> foundItems = service.searchItem("search", 0, 20);
+
+        assertThat(foundItems, hasSize(1));
+        assertThat(foundItems.get(0).getName(), equalTo("forSearch"));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+    }
+
     @Test
     public void whenCreateComment_thenReturnComment() {
         User booker = createUser(1L);
@@ -4,16 +4,29 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.BookingCalendar;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.config.CacheEvictionListener;
+import ru.practicum.shareit.config.CacheGenerations;
+import ru.practicum.shareit.exeption.BadRequestException;
 import ru.practicum.shareit.exeption.NotFoundException;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserService;
@@ -24,11 +37,14 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +58,16 @@ class ItemServiceUnitTest {
     private UserService userService;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private BookingCalendar bookingCalendar;
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager();
+    @Spy
+    private CacheGenerations cacheGenerations = new CacheGenerations();
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -93,6 +119,75 @@ class ItemServiceUnitTest {
     }
 
 
+    @Test
+    void whenGetItemTwice_thenLoadFromRepositoriesOnce() {
+        when(itemRepository.findById(1L))
+                .thenReturn(Optional.of(createItem(1L)));
+        when(bookingRepository.findLastBooking(1L, 1L))
+                .thenReturn(Optional.empty());
+        when(bookingRepository.findNextBooking(1L, 1L))
+                .thenReturn(Optional.empty());
+        when(commentRepository.findByItemId(1L))
+                .thenReturn(List.of());
+
+        itemService.getItem(1L, 1L);
+        ItemResponseDto itemResponseDto = itemService.getItem(1L, 2L);
+
+        assertEquals(1L, itemResponseDto.getId());
+        verify(itemRepository, times(1)).findById(1L);
+        verify(commentRepository, times(1)).findByItemId(1L);
+    }
+
+    @Test
+    void whenItemChangedBetweenLoadAndPut_thenDoNotCacheStaleDto() {
+        CacheEvictionListener cacheEvictionListener = new CacheEvictionListener(cacheManager, cacheGenerations);
+        when(itemRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    Optional<Item> staleItem = Optional.of(createItem(1L));
+                    cacheEvictionListener.onItemChanged(new ItemChangedEvent(1L));
+                    return staleItem;
+                });
+        when(bookingRepository.findLastBooking(1L, 1L))
+                .thenReturn(Optional.empty());
+        when(bookingRepository.findNextBooking(1L, 1L))
+                .thenReturn(Optional.empty());
+        when(commentRepository.findByItemId(1L))
+                .thenReturn(List.of());
+
+        itemService.getItem(1L, 1L);
+
+        assertNull(cacheManager.getCache(CacheConfig.ITEMS).get(1L));
+    }
+
+    @Test
+    void whenGetCachedItemByNotOwner_thenHideBookings() {
+        Item item = createItem(1L);
+        Booking lastBooking = new Booking(1L,
+                LocalDateTime.now()
+                             .minusHours(2),
+                LocalDateTime.now()
+                             .minusHours(1),
+                item,
+                createUser(3L),
+                BookingStatus.APPROVED);
+
+        when(itemRepository.findById(1L))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.findLastBooking(1L, 1L))
+                .thenReturn(Optional.of(lastBooking));
+        when(bookingRepository.findNextBooking(1L, 1L))
+                .thenReturn(Optional.empty());
+        when(commentRepository.findByItemId(1L))
+                .thenReturn(List.of());
+
+        ItemResponseDto ownerView = itemService.getItem(1L, 1L);
+        ItemResponseDto bookerView = itemService.getItem(1L, 3L);
+
+        assertEquals(1L, ownerView.getLastBooking().getId());
+        assertNull(bookerView.getLastBooking());
+        assertNull(bookerView.getNextBooking());
+    }
+
     @Test
     void whenGetOwnItems_thenReturnListItemOutputDto() {
         when(itemRepository.findAllByOwnerIdOrderById(1L, PageRequest.of(0, 20)))
@@ -103,6 +198,42 @@ class ItemServiceUnitTest {
         assertEquals(2, items.size());
     }
 
+    @Test
+    void whenGetOwnItems_thenLoadBookingsAndCommentsOnceForAllItems() {
+        Item item1 = createItem(1L);
+        Item item2 = createItem(2L);
+        User booker = createUser(3L);
+
+        Booking lastBooking = new Booking(1L,
+                LocalDateTime.now()
+                             .minusHours(2),
+                LocalDateTime.now()
+                             .minusHours(1),
+                item1,
+                booker,
+                BookingStatus.APPROVED);
+
+        when(itemRepository.findAllByOwnerIdOrderById(1L, PageRequest.of(0, 20)))
+                .thenReturn(new PageImpl<>(List.of(item1, item2)));
+        when(bookingRepository.findLastBookings(List.of(1L, 2L)))
+                .thenReturn(List.of(lastBooking));
+        when(commentRepository.findByItemIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(createComment(1L, item2, booker)));
+
+        List<ItemResponseDto> items = itemService.getOwnItems(1L, 0, 20);
+
+        assertEquals(1L, items.get(0).getLastBooking().getId());
+        assertNull(items.get(0).getNextBooking());
+        assertEquals(0, items.get(0).getComments().size());
+        assertNull(items.get(1).getLastBooking());
+        assertEquals(1, items.get(1).getComments().size());
+        verify(bookingRepository, times(1)).findLastBookings(anyCollection());
+        verify(bookingRepository, times(1)).findNextBookings(anyCollection());
+        verify(commentRepository, times(1)).findByItemIdIn(anyCollection());
+        verify(bookingRepository, never()).findLastBooking(anyLong(), anyLong());
+        verify(commentRepository, never()).findByItemId(anyLong());
+    }
+
     @Test
     void whenCreate_thenCallItemRepositorySave() {
         when(userService.getUser(anyLong()))
@@ -146,6 +277,7 @@ class ItemServiceUnitTest {
                 null));
 
         verify(itemRepository, times(1)).save(any());
+        verify(eventPublisher, times(1)).publishEvent(new ItemChangedEvent(1L));
     }
 
     @Test
@@ -244,7 +376,7 @@ class ItemServiceUnitTest {
 
     @Test
     void whenSearchItem_thenCallItemRepositorySearchItem() {
-        List<Item> items = List.of(createItem(1L), createItem(2L), createItem(3L));
+        List<ItemView> items = List.of(createItemView(1L), createItemView(2L), createItemView(3L));
 
         when(itemRepository.searchItem("Item", PageRequest.of(0, 20)))
                 .thenReturn(new PageImpl<>(items).toList());
@@ -257,7 +389,7 @@ class ItemServiceUnitTest {
 
     @Test
     void whenSearchItemExist_thenReturnListOfItems() {
-        List<Item> items = List.of(createItem(1L), createItem(2L), createItem(3L));
+        List<ItemView> items = List.of(createItemView(1L), createItemView(2L), createItemView(3L));
 
         when(itemRepository.searchItem("Item", PageRequest.of(0, 20)))
                 .thenReturn(new PageImpl<>(items).toList());
@@ -267,6 +399,46 @@ class ItemServiceUnitTest {
         assertEquals(3, itemsInputDto.size());
     }
 
+    @Test
+    void whenFullTextSearchEnabled_thenCallItemRepositorySearchItemFullText() {
+        ReflectionTestUtils.setField(itemService, "fullTextSearch", true);
+
+        when(itemRepository.searchItemFullText("Item", PageRequest.of(0, 20)))
+                .thenReturn(List.of(createItemView(1L)));
+
+        List<ItemDto> itemsInputDto = itemService.searchItem("Item", 0, 20);
+
+        assertEquals(1, itemsInputDto.size());
+        verify(itemRepository, never()).searchItem(anyString(), any());
+    }
+
+    @Test
+    void whenSearchIndexSupportsText_thenLoadFoundItemsById() {
+        when(itemSearchIndex.supports("Item")).thenReturn(true);
+        when(itemSearchIndex.search("Item", 0, 20)).thenReturn(List.of(2L, 1L));
+        when(itemRepository.findViewsByIdIn(List.of(2L, 1L)))
+                .thenReturn(List.of(createItemView(1L), createItemView(2L)));
+
+        List<ItemDto> itemsInputDto = itemService.searchItem("Item", 0, 20);
+
+        assertEquals(2L, itemsInputDto.get(0).getId());
+        assertEquals(1L, itemsInputDto.get(1).getId());
+        verify(itemRepository, never()).searchItem(anyString(), any());
+    }
+
+    @Test
+    void whenCreate_thenAddItemToSearchIndex() {
+        Item item = createItem(1L);
+
+        when(userService.getUser(anyLong()))
+                .thenReturn(new UserDto(1L, "name", "email@mail.ru"));
+        when(itemRepository.save(any())).thenReturn(item);
+
+        itemService.create(1L, createItemDto(1L));
+
+        verify(itemSearchIndex, times(1)).index(item);
+    }
+
     @Test
     void whenCreateComment_thenCallCommentRepositorySave() {
         User user1 = createUser(1L);
@@ -339,16 +511,57 @@ class ItemServiceUnitTest {
                                 .format(DateTimeFormatter.ISO_DATE_TIME));
     }
 
+    @Test
+    void whenGetAvailability_thenReturnFreeSlotsFromCalendar() {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.plusDays(1);
+        List<AvailabilitySlotDto> slots = List.of(new AvailabilitySlotDto(from, to));
+
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(bookingCalendar.getFreeSlots(1L, from, to)).thenReturn(slots);
+
+        assertEquals(slots, itemService.getAvailability(1L, from, to));
+    }
+
+    @Test
+    void whenGetAvailabilityOfUnknownItem_thenThrowNotFoundException() {
+        LocalDateTime from = LocalDateTime.now();
+
+        when(itemRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> itemService.getAvailability(1L, from, from.plusDays(1)));
+        verify(bookingCalendar, never()).getFreeSlots(anyLong(), any(), any());
+    }
+
+    @Test
+    void whenGetAvailabilityWithEmptyPeriod_thenThrowBadRequestException() {
+        LocalDateTime from = LocalDateTime.now();
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> itemService.getAvailability(1L, from, from));
+
+        assertEquals("Availability period start must be before end", exception.getMessage());
+    }
+
     private Item createItem(Long id) {
         return new Item(
                 id,
                 "Item" + id,
                 "Description" + id,
                 true,
-                null
+                createUser(1L)
         );
     }
 
+    private ItemView createItemView(Long id) {
+        return new SpelAwareProxyProjectionFactory().createProjection(ItemView.class, Map.of(
+                "id", id,
+                "name", "Item" + id,
+                "description", "Description" + id,
+                "available", true
+        ));
+    }
+
     private ItemDto createItemDto(Long id) {
         return new ItemDto(
                 id,
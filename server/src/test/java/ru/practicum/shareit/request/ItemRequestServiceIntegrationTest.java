@@ -1,10 +1,13 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -21,7 +24,7 @@ import static org.hamcrest.Matchers.*;
 
 @Transactional
 @SpringBootTest(
-        properties = "db.name=test",
+        properties = {"db.name=test", "spring.jpa.properties.hibernate.generate_statistics=true"},
         webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class ItemRequestServiceIntegrationTest {
@@ -119,6 +122,72 @@ class ItemRequestServiceIntegrationTest {
         assertThat(requestsDto, hasSize(requestsInputDto.size() - 1));
     }
 
+    @Test
+    public void whenGetAllRequestsWithItems_thenLoadItemsInSingleQuery() {
+        User requester = createUser(1L);
+        User owner = createUser(2L);
+        entityManager.persist(requester);
+        entityManager.persist(owner);
+
+        int requestsCount = 5;
+        for (long i = 1; i <= requestsCount; i++) {
+            ItemRequest request = new ItemRequest("description" + i, requester, LocalDateTime.now());
+            entityManager.persist(request);
+
+            Item item = new Item(null, "item" + i, "description" + i, true, owner);
+            item.setRequest(request);
+            entityManager.persist(item);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = getStatistics();
+        statistics.clear();
+
+        List<ItemRequestDto> requestsDto = service.getAllRequests(owner.getId(), 0, 20);
+
+        assertThat(requestsDto, hasSize(requestsCount));
+        requestsDto.forEach(r -> assertThat(r.getItems(), hasSize(1)));
+        // user lookup + page of requests + items of all requests
+        assertThat(statistics.getPrepareStatementCount(), equalTo(3L));
+    }
+
+    @Test
+    public void whenGetOwnRequestsWithItems_thenLoadItemsInSingleQuery() {
+        User requester = createUser(1L);
+        User owner = createUser(2L);
+        entityManager.persist(requester);
+        entityManager.persist(owner);
+
+        int requestsCount = 5;
+        for (long i = 1; i <= requestsCount; i++) {
+            ItemRequest request = new ItemRequest("description" + i, requester, LocalDateTime.now());
+            entityManager.persist(request);
+
+            Item item = new Item(null, "item" + i, "description" + i, true, owner);
+            item.setRequest(request);
+            entityManager.persist(item);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = getStatistics();
+        statistics.clear();
+
+        List<ItemRequestDto> requestsDto = service.getOwnRequests(requester.getId());
+
+        assertThat(requestsDto, hasSize(requestsCount));
+        requestsDto.forEach(r -> assertThat(r.getItems(), hasSize(1)));
+        // user lookup + own requests + items of all requests
+        assertThat(statistics.getPrepareStatementCount(), equalTo(3L));
+    }
+
+    private Statistics getStatistics() {
+        return entityManager.getEntityManagerFactory()
+                            .unwrap(SessionFactory.class)
+                            .getStatistics();
+    }
+
     private ItemRequestDto createItemRequestDto(Long id) {
         return new ItemRequestDto(
                 null,
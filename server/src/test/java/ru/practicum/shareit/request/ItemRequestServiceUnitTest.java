@@ -4,11 +4,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.config.CacheEvictionListener;
+import ru.practicum.shareit.config.CacheGenerations;
 import ru.practicum.shareit.exeption.NotFoundException;
+import ru.practicum.shareit.item.ItemChangedEvent;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -21,6 +28,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
@@ -34,6 +42,10 @@ class ItemRequestServiceUnitTest {
     ItemRequestRepository itemRequestRepository;
     @Mock
     UserServiceImpl userService;
+    @Spy
+    CacheManager cacheManager = new ConcurrentMapCacheManager();
+    @Spy
+    CacheGenerations cacheGenerations = new CacheGenerations();
 
     @InjectMocks
     ItemRequestServiceImpl itemRequestService;
@@ -66,6 +78,39 @@ class ItemRequestServiceUnitTest {
         assertEquals("description", itemRequestDto.getDescription());
     }
 
+    @Test
+    void whenGetItemRequestByIdTwice_thenCheckUserAndLoadRequestOnce() {
+        when(userService.getUser(anyLong()))
+                .thenReturn(createUserDto(1L));
+
+        when(itemRequestRepository.findById(1L))
+                .thenReturn(Optional.of(createItemRequest(1L)));
+
+        itemRequestService.getById(1L, 1L);
+        ItemRequestDto itemRequestDto = itemRequestService.getById(2L, 1L);
+
+        assertEquals(1L, itemRequestDto.getId());
+        verify(userService, times(2)).getUser(anyLong());
+        verify(itemRequestRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void whenItemRequestChangedBetweenLoadAndPut_thenDoNotCacheStaleDto() {
+        CacheEvictionListener cacheEvictionListener = new CacheEvictionListener(cacheManager, cacheGenerations);
+        when(userService.getUser(anyLong()))
+                .thenReturn(createUserDto(1L));
+        when(itemRequestRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    Optional<ItemRequest> staleRequest = Optional.of(createItemRequest(1L));
+                    cacheEvictionListener.onItemChanged(new ItemChangedEvent(null, 1L));
+                    return staleRequest;
+                });
+
+        itemRequestService.getById(1L, 1L);
+
+        assertNull(cacheManager.getCache(CacheConfig.ITEM_REQUESTS).get(1L));
+    }
+
     @Test
     void whenGetByIdNotExistItemRequest_thenThrowNotFoundException() {
         when(userService.getUser(anyLong()))
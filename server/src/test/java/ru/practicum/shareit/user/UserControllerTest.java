@@ -5,20 +5,28 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.exeption.BadRequestException;
 import ru.practicum.shareit.exeption.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = UserController.class)
@@ -30,6 +38,9 @@ class UserControllerTest {
     @MockBean
     private UserService service;
 
+    @MockBean
+    private UserExporter exporter;
+
     @Autowired
     private MockMvc mvc;
 
@@ -54,6 +65,20 @@ class UserControllerTest {
            .andExpect(jsonPath("$.email", is(userDto.getEmail())));
     }
 
+    @Test
+    void whenCreateUsersBatch_thenReturnCreatedUsersStatus200() throws Exception {
+        when(service.createAll(List.of(userDto))).thenReturn(List.of(userDto));
+
+        mvc.perform(post("/users/batch")
+                   .content(mapper.writeValueAsString(List.of(userDto)))
+                   .characterEncoding(StandardCharsets.UTF_8)
+                   .contentType(MediaType.APPLICATION_JSON)
+                   .accept(MediaType.APPLICATION_JSON))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$[0].id", is(userDto.getId()), Long.class))
+           .andExpect(jsonPath("$[0].email", is(userDto.getEmail())));
+    }
+
     @Test
     void whenCreateUserWithExistEmail_thenReturnStatus4xx() throws Exception {
         when(service.create(userDto)).thenThrow(BadRequestException.class);
@@ -66,6 +91,20 @@ class UserControllerTest {
            .andExpect(status().is4xxClientError());
     }
 
+    @Test
+    void whenCreateUserViolatesUniqueEmail_thenReturnStatus409WithoutSqlDetails() throws Exception {
+        when(service.create(userDto)).thenThrow(new DataIntegrityViolationException("uq_user_email",
+                new SQLException("Unique index or primary key violation: UQ_USER_EMAIL ON USERS(EMAIL)")));
+
+        mvc.perform(post("/users")
+                   .content(mapper.writeValueAsString(userDto))
+                   .characterEncoding(StandardCharsets.UTF_8)
+                   .contentType(MediaType.APPLICATION_JSON)
+                   .accept(MediaType.APPLICATION_JSON))
+           .andExpect(status().isConflict())
+           .andExpect(jsonPath("$.description", is("The request conflicts with existing data")));
+    }
+
     @Test
     void whenGetUserExist_thenReturnUserDtoStatus2xx() throws Exception {
         when(service.getUser(userDto.getId())).thenReturn(userDto);
@@ -129,11 +168,43 @@ class UserControllerTest {
             users.add(user);
         }
 
-        when(service.getAll()).thenReturn(users);
+        when(service.getAll(0, 20)).thenReturn(users);
 
-        mvc.perform(get("/users"))
+        mvc.perform(get("/users")
+                   .param("from", "0")
+                   .param("size", "20"))
            .andExpect(status().isOk())
            .andExpect(jsonPath("$.length()").value(users.size()));
     }
 
+    @Test
+    void whenGetAllUsersAfterCursor_thenCallKeysetService() throws Exception {
+        when(service.getAllAfter(1L, 20)).thenReturn(List.of(userDto));
+
+        mvc.perform(get("/users")
+                   .param("from", "0")
+                   .param("size", "20")
+                   .param("after", "1"))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void whenExportUsers_thenStreamExporterOutput() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class)
+                      .write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exporter).export(any());
+
+        MvcResult result = mvc.perform(get("/users/export"))
+                              .andExpect(request().asyncStarted())
+                              .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+           .andExpect(status().isOk())
+           .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+           .andExpect(content().string("{\"id\":1}\n"));
+    }
+
 }
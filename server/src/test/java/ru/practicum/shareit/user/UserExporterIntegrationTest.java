@@ -0,0 +1,64 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Transactional
+@SpringBootTest(
+        properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserExporterIntegrationTest {
+
+    private final UserExporter exporter;
+    private final EntityManager entityManager;
+
+    @Test
+    void whenExport_thenWriteEveryUserAsJsonLineInIdOrder() throws IOException {
+        int count = Integer.parseInt(UserRepository.EXPORT_FETCH_SIZE) + 1;
+        User first = null;
+        for (int i = 0; i < count; i++) {
+            User user = new User(null, "user" + i, "user" + i + "@mail.ru");
+            entityManager.persist(user);
+            if (first == null) {
+                first = user;
+            }
+        }
+
+        String[] lines = export();
+
+        assertThat(lines.length, equalTo(count));
+        assertThat(lines[0], equalTo("{\"id\":" + first.getId() + ",\"name\":\"user0\",\"email\":\"user0@mail.ru\"}"));
+        assertThat(lines[count - 1], containsString("\"name\":\"user" + (count - 1) + "\""));
+    }
+
+    @Test
+    void whenNoUsers_thenExportNothing() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        exporter.export(output);
+
+        assertThat(output.size(), equalTo(0));
+    }
+
+    private String[] export() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        exporter.export(output);
+
+        return output.toString(StandardCharsets.UTF_8).split("\n");
+    }
+
+}
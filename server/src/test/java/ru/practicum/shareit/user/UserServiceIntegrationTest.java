@@ -1,6 +1,8 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -111,7 +113,7 @@ class UserServiceIntegrationTest {
             entityManager.persist(entity);
         }
 
-        List<UserDto> targetUsers = service.getAll();
+        List<UserDto> targetUsers = service.getAll(0, 20);
 
         assertThat(targetUsers, hasSize(usersDto.size()));
         for (UserDto userDto : usersDto) {
@@ -123,6 +125,41 @@ class UserServiceIntegrationTest {
         }
     }
 
+    @Test
+    public void whenGetAllByPagesAndCursor_thenReturnUsersInIdOrder() {
+        for (long i = 1; i <= 5; i++) {
+            entityManager.persist(UserMapper.toUser(createUserDto(i)));
+        }
+
+        List<UserDto> firstPage = service.getAll(0, 2);
+        List<UserDto> secondPage = service.getAll(2, 2);
+        List<UserDto> afterSecondPage = service.getAllAfter(secondPage.get(1).getId(), 2);
+
+        assertThat(firstPage, contains(hasProperty("name", equalTo("user1")),
+                hasProperty("name", equalTo("user2"))));
+        assertThat(secondPage, contains(hasProperty("name", equalTo("user3")),
+                hasProperty("name", equalTo("user4"))));
+        assertThat(afterSecondPage, contains(hasProperty("name", equalTo("user5"))));
+    }
+
+    @Test
+    public void whenGetAll_thenDoNotLoadUserEntities() {
+        for (long i = 1; i <= 3; i++) {
+            entityManager.persist(UserMapper.toUser(createUserDto(i)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                                             .unwrap(SessionFactory.class)
+                                             .getStatistics();
+        statistics.clear();
+
+        List<UserDto> users = service.getAll(0, 20);
+
+        assertThat(users, hasSize(3));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+    }
+
     private UserDto createUserDto(Long id) {
         return UserDto.builder()
                       .name("user" + id)
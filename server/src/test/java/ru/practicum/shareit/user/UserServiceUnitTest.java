@@ -6,6 +6,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.exeption.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
@@ -24,6 +26,8 @@ class UserServiceUnitTest {
 
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -56,6 +60,7 @@ class UserServiceUnitTest {
         userService.update(1L, inputUserDto);
 
         verify(userRepository, times(1)).save(any());
+        verify(eventPublisher, times(1)).publishEvent(new UserChangedEvent(1L));
     }
 
     @Test
@@ -132,23 +137,33 @@ class UserServiceUnitTest {
 
     @Test
     public void whenGetAllUsers_thenCallUserRepository() {
-        Mockito.when(userRepository.findAll())
-               .thenReturn(List.of(user1, user2));
+        Mockito.when(userRepository.findAllUserDtos(PageRequest.of(1, 20)))
+               .thenReturn(List.of(UserMapper.toDto(user1), UserMapper.toDto(user2)));
 
-        userService.getAll();
+        userService.getAll(20, 20);
 
         Mockito.verify(userRepository, times(1))
-               .findAll();
+               .findAllUserDtos(PageRequest.of(1, 20));
     }
 
     @Test
     public void whenGetAllUsers_thenReturnUsersList() {
-        Mockito.when(userRepository.findAll())
-               .thenReturn(List.of(user1, user2));
+        Mockito.when(userRepository.findAllUserDtos(PageRequest.of(0, 20)))
+               .thenReturn(List.of(UserMapper.toDto(user1), UserMapper.toDto(user2)));
 
-        List<UserDto> users = userService.getAll();
+        List<UserDto> users = userService.getAll(0, 20);
 
         assertEquals(2, users.size());
     }
 
+    @Test
+    public void whenGetAllUsersAfterCursor_thenQueryUsersAfterId() {
+        Mockito.when(userRepository.findAllUserDtosAfter(1L, PageRequest.of(0, 20)))
+               .thenReturn(List.of(UserMapper.toDto(user2)));
+
+        List<UserDto> users = userService.getAllAfter(1L, 20);
+
+        assertEquals(List.of(UserMapper.toDto(user2)), users);
+    }
+
 }